@@ -0,0 +1,54 @@
+package howly.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import howly.storage.DatasetGenerator;
+import howly.tasks.Task;
+
+/**
+ * Builds reproducible task lists and scratch directories for the benchmarks.
+ */
+final class BenchmarkData {
+    private BenchmarkData() {
+    }
+
+    /**
+     * Creates an equal mix of todos, deadlines and events with the generator's default settings.
+     *
+     * @param count The number of tasks to create.
+     * @param seed The seed of the generator, so runs see the same tasks.
+     * @return The tasks, in order.
+     */
+    static ArrayList<Task> tasks(int count, long seed) {
+        return new DatasetGenerator(seed).generate(count);
+    }
+
+    /**
+     * Creates an empty directory for a benchmark's data files.
+     *
+     * @return The new directory.
+     * @throws IOException If the directory cannot be created.
+     */
+    static Path createDirectory() throws IOException {
+        return Files.createTempDirectory("howly-bench");
+    }
+
+    /**
+     * Deletes a directory created by {@link #createDirectory()} along with everything in it.
+     *
+     * @param directory The directory to delete.
+     * @throws IOException If a file cannot be deleted.
+     */
+    static void deleteDirectory(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package howly.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import howly.commands.DeleteCommand;
+import howly.commands.FindCommand;
+import howly.commands.FindDateCommand;
+import howly.commands.ListCommand;
+import howly.commands.MarkCommand;
+import howly.common.HowlyException;
+import howly.common.TaskList;
+import howly.storage.Storage;
+import howly.tasks.Task;
+import howly.ui.Ui;
+
+/**
+ * Measures each command end to end against a journaled storage, as the app runs them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandBenchmark {
+    @Param({"1000", "100000"})
+    private int taskCount;
+
+    private final Ui ui = new Ui();
+    private final ListCommand list = new ListCommand();
+    private final FindCommand find = new FindCommand("book");
+    private final FindDateCommand findDate = new FindDateCommand(LocalDate.of(2026, 6, 1));
+    private final DeleteCommand deleteFirst = new DeleteCommand(0);
+    private Path directory;
+    private Storage storage;
+    private TaskList tasks;
+    private MarkCommand markDone;
+    private MarkCommand markNotDone;
+    private boolean isMarked;
+
+    /**
+     * Creates the task list and the journaled storage it is saved to.
+     */
+    @Setup(Level.Trial)
+    public void createTasks() throws IOException, HowlyException {
+        directory = BenchmarkData.createDirectory();
+        storage = new Storage(directory.resolve("howly.txt").toString(), true);
+        tasks = new TaskList(BenchmarkData.tasks(taskCount, 42));
+        storage.save(tasks.getTasks());
+        markDone = new MarkCommand(taskCount / 2, true);
+        markNotDone = new MarkCommand(taskCount / 2, false);
+    }
+
+    /**
+     * Stops the compactor and removes the data files.
+     */
+    @TearDown(Level.Trial)
+    public void deleteDataFiles() throws IOException {
+        storage.close();
+        BenchmarkData.deleteDirectory(directory);
+    }
+
+    /**
+     * Renders every task.
+     */
+    @Benchmark
+    public String list() throws HowlyException {
+        return list.execute(tasks, ui, storage);
+    }
+
+    /**
+     * Looks up and renders the tasks matching a common keyword.
+     */
+    @Benchmark
+    public String find() throws HowlyException {
+        return find.execute(tasks, ui, storage);
+    }
+
+    /**
+     * Looks up and renders the tasks on one date.
+     */
+    @Benchmark
+    public String findDate() throws HowlyException {
+        return findDate.execute(tasks, ui, storage);
+    }
+
+    /**
+     * Marks or unmarks a task in the middle of the list, alternating so every call changes it.
+     */
+    @Benchmark
+    public String mark() throws HowlyException {
+        isMarked = !isMarked;
+        return (isMarked ? markDone : markNotDone).execute(tasks, ui, storage);
+    }
+
+    /**
+     * Deletes the first task, the most expensive position, then appends it again so the size stays fixed.
+     * The re-append only touches the in-memory list.
+     */
+    @Benchmark
+    public Task delete() throws HowlyException {
+        Task first = tasks.get(0);
+        deleteFirst.execute(tasks, ui, storage);
+        tasks.add(first);
+        return first;
+    }
+}
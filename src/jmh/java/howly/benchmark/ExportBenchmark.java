@@ -0,0 +1,73 @@
+package howly.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import howly.common.HowlyException;
+import howly.common.TaskList;
+import howly.storage.ExportFormat;
+import howly.storage.ExportStats;
+import howly.storage.Storage;
+
+/**
+ * Measures exporting a whole task list in each export format. The export streams through a fixed
+ * buffer, so its time should grow linearly with the task count and its memory not at all.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ExportBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int taskCount;
+
+    @Param({"CSV", "JSONL", "ICS"})
+    private ExportFormat format;
+
+    private Path directory;
+    private TaskList tasks;
+    private Storage storage;
+
+    /**
+     * Generates the tasks to export.
+     */
+    @Setup(Level.Trial)
+    public void createTasks() throws IOException {
+        directory = BenchmarkData.createDirectory();
+        tasks = new TaskList(BenchmarkData.tasks(taskCount, 42));
+        storage = new Storage(directory.resolve("howly.txt").toString());
+    }
+
+    /**
+     * Removes the exported file.
+     */
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException {
+        BenchmarkData.deleteDirectory(directory);
+    }
+
+    /**
+     * Writes every task to the export file.
+     */
+    @Benchmark
+    public ExportStats export() throws HowlyException {
+        return storage.export(tasks, directory.resolve("export"), format);
+    }
+}
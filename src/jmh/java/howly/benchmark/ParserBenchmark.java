@@ -0,0 +1,57 @@
+package howly.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import howly.commands.Command;
+import howly.common.HowlyException;
+import howly.parser.Parser;
+
+/**
+ * Measures how long it takes to turn one line of user input into a command.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+    @Param({"todo read book", "deadline return book /by 2026-12-01",
+        "event project meeting /from 2026-02-11 /to 2026-02-12", "mark 12", "find book", "list /page 2 /size 50"})
+    private String input;
+
+    /**
+     * Parses the input through the full command dispatch.
+     */
+    @Benchmark
+    public Command parse() throws HowlyException {
+        return Parser.parse(input);
+    }
+
+    /**
+     * Splits a deadline into its description and date.
+     */
+    @Benchmark
+    public String[] parseDeadline() throws HowlyException {
+        return Parser.parseDeadline("deadline return book /by 2026-12-01");
+    }
+
+    /**
+     * Splits an event into its description and dates, validating the date range.
+     */
+    @Benchmark
+    public String[] parseEvent() throws HowlyException {
+        return Parser.parseEvent("event project meeting /from 2026-02-11 /to 2026-02-12");
+    }
+}
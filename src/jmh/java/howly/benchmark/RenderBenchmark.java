@@ -0,0 +1,85 @@
+package howly.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import howly.commands.FindCommand;
+import howly.commands.ListCommand;
+import howly.common.HowlyException;
+import howly.common.TaskList;
+import howly.tasks.Task;
+
+/**
+ * Measures the cost of rendering tasks for the 'list' and 'find' commands.
+ * <p>
+ * With {@code isCached} false, every task's cached display string is dropped before each call,
+ * so each call formats every task again. Run with the gc profiler (enabled in build.gradle)
+ * and compare {@code gc.alloc.rate.norm} between the two settings to see the allocation saved.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderBenchmark {
+    @Param({"100000"})
+    private int taskCount;
+
+    @Param({"true", "false"})
+    private boolean isCached;
+
+    private final ListCommand list = new ListCommand();
+    private final FindCommand find = new FindCommand("book");
+    private TaskList tasks;
+
+    /**
+     * Creates the task list once per run.
+     */
+    @Setup(Level.Trial)
+    public void createTasks() {
+        tasks = new TaskList(BenchmarkData.tasks(taskCount, 42));
+    }
+
+    /**
+     * Drops the cached display strings when measuring uncached rendering.
+     */
+    @Setup(Level.Invocation)
+    public void invalidate() {
+        if (isCached) {
+            return;
+        }
+        for (Task task : tasks.getTasks()) {
+            task.setDescription(task.getDescription());
+        }
+    }
+
+    /**
+     * Renders every task in the list.
+     */
+    @Benchmark
+    public String list() throws HowlyException {
+        return list.execute(tasks, null, null);
+    }
+
+    /**
+     * Renders the tasks matching a common keyword.
+     */
+    @Benchmark
+    public String find() throws HowlyException {
+        return find.execute(tasks, null, null);
+    }
+}
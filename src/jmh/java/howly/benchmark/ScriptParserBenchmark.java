@@ -0,0 +1,85 @@
+package howly.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import howly.common.HowlyException;
+import howly.parser.Parser;
+
+/**
+ * Measures parsing a whole script of commands, as a batch file is parsed line by line.
+ * The script mixes every kind of command with a few lines that fail to parse, since a batch
+ * checks every line even after one has failed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScriptParserBenchmark {
+    private static final int LINE_COUNT = 1000;
+
+    private List<String> lines;
+
+    /**
+     * Builds the script, cycling through the kinds of command.
+     */
+    @Setup
+    public void createScript() {
+        lines = new ArrayList<>(LINE_COUNT);
+        for (int i = 0; lines.size() < LINE_COUNT; i++) {
+            int n = i + 1;
+            lines.add("todo read book " + n);
+            lines.add("deadline return book " + n + " /by 2026-12-01");
+            lines.add("event project meeting " + n + " /from 2026-02-11 /to 2026-02-12");
+            lines.add("mark " + n);
+            lines.add("unmark #" + n);
+            lines.add("delete " + n + "," + (n + 4) + ",#" + (n + 9));
+            lines.add("mark 1-" + n);
+            lines.add("update " + n + " /desc renamed task " + n);
+            lines.add("find book " + n);
+            lines.add("list /page 2 /size 50");
+            lines.add("findrange 2026-01-01 2026-01-31");
+            lines.add("remind me about book " + n);
+            lines.add("mark first");
+        }
+    }
+
+    /**
+     * Parses every line of the script, along with the dates of each deadline and event as adding them does.
+     *
+     * @param blackhole Keeps the parsed commands from being optimized away.
+     * @return The number of lines that failed to parse.
+     */
+    @Benchmark
+    public int parseScript(Blackhole blackhole) {
+        int failures = 0;
+        for (String line : lines) {
+            try {
+                blackhole.consume(Parser.parse(line));
+                if (line.startsWith("deadline ")) {
+                    blackhole.consume(Parser.parseDeadline(line));
+                } else if (line.startsWith("event ")) {
+                    blackhole.consume(Parser.parseEvent(line));
+                }
+            } catch (HowlyException e) {
+                failures++;
+            }
+        }
+        return failures;
+    }
+}
@@ -0,0 +1,111 @@
+package howly.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import howly.common.HowlyException;
+import howly.common.TaskList;
+import howly.storage.Storage;
+import howly.storage.StorageFormat;
+import howly.tasks.Task;
+
+/**
+ * Measures loading and saving a whole data file, in each storage format, and opening a task list and
+ * saving a single change to it. A mapped list opens without decoding any task and saves by forcing
+ * its changed pages, so those two should stay flat as the task count grows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class StorageBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int taskCount;
+
+    @Param({"TEXT", "BINARY", "MAPPED"})
+    private StorageFormat format;
+
+    private Path directory;
+    private ArrayList<Task> tasks;
+    private Storage loaded;
+    private Storage saved;
+    private Storage changed;
+    private TaskList changedList;
+    private int nextChange;
+
+    /**
+     * Writes the data file that the load benchmark reads.
+     */
+    @Setup(Level.Trial)
+    public void writeDataFile() throws IOException, HowlyException {
+        directory = BenchmarkData.createDirectory();
+        tasks = BenchmarkData.tasks(taskCount, 42);
+        loaded = new Storage(directory.resolve("load.txt").toString(), false, format);
+        loaded.save(tasks);
+        saved = new Storage(directory.resolve("save.txt").toString(), false, format);
+        changed = new Storage(directory.resolve("change.txt").toString(), false, format);
+        changed.save(tasks);
+        changedList = changed.loadList();
+    }
+
+    /**
+     * Removes the data files.
+     */
+    @TearDown(Level.Trial)
+    public void deleteDataFiles() throws IOException {
+        BenchmarkData.deleteDirectory(directory);
+    }
+
+    /**
+     * Reads every task from the data file.
+     */
+    @Benchmark
+    public ArrayList<Task> load() throws HowlyException {
+        return loaded.load();
+    }
+
+    /**
+     * Writes every task to a fresh snapshot and renames it into place.
+     */
+    @Benchmark
+    public void save() throws HowlyException {
+        saved.save(tasks);
+    }
+
+    /**
+     * Opens the data file as a task list, ready for commands.
+     */
+    @Benchmark
+    public TaskList openList() throws HowlyException {
+        return loaded.loadList();
+    }
+
+    /**
+     * Toggles one task and persists the change.
+     */
+    @Benchmark
+    public void markAndSave() throws HowlyException {
+        int index = nextChange++ % taskCount;
+        boolean isDone = !changedList.getTasks().get(index).isDone();
+        changedList.mark(index, isDone);
+        changed.saveMark(changedList.getTasks(), index, isDone);
+    }
+}
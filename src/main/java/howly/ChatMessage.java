@@ -0,0 +1,41 @@
+package howly;
+
+/**
+ * Represents one message in the chat transcript.
+ * Messages compare by identity, so a placeholder reply can be found and replaced
+ * even when another message has the same text.
+ */
+public class ChatMessage {
+    private final String text;
+    private final boolean isFromUser;
+    private final boolean isError;
+
+    /**
+     * @param text The text of the message.
+     * @param isFromUser Whether the user sent the message, rather than Howly.
+     * @param isError Whether the message reports an error.
+     */
+    public ChatMessage(String text, boolean isFromUser, boolean isError) {
+        this.text = text;
+        this.isFromUser = isFromUser;
+        this.isError = isError;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * @return {@code true} if the user sent the message, {@code false} if Howly did.
+     */
+    public boolean isFromUser() {
+        return isFromUser;
+    }
+
+    /**
+     * @return {@code true} if the message reports an error.
+     */
+    public boolean isError() {
+        return isError;
+    }
+}
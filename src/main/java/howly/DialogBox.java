@@ -1,66 +1,68 @@
 package howly;
 
-import java.io.IOException;
-
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
+import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
 
 /**
  * Represents a dialog box consisting of an ImageView to represent the speaker's face
  * and a label containing text from the speaker.
+ * <p>
+ * The box is built in code rather than loaded from FXML, and is meant to be reused:
+ * a transcript cell keeps one box and calls {@link #show(ChatMessage, Image)} for whichever
+ * message it currently displays.
+ * </p>
  */
 public class DialogBox extends HBox {
+    private static final String STYLESHEET = DialogBox.class.getResource("/css/dialogbox.css").toExternalForm();
+    private static final double PICTURE_SIZE = 99.0;
 
-    @FXML private Label dialog;
-    @FXML private ImageView displayPicture;
-
-    private DialogBox(String text, Image img) {
-        try {
-            FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
-            fxmlLoader.setController(this);
-            fxmlLoader.setRoot(this);
-            fxmlLoader.load();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-        dialog.setText(text);
-        displayPicture.setImage(img);
-    }
+    private final Label dialog = new Label();
+    private final ImageView displayPicture = new ImageView();
 
     /**
-     * Flips the dialog box such that the ImageView is on the left and text on the right.
+     * Creates an empty dialog box.
      */
-    private void flip() {
-        this.setAlignment(Pos.TOP_LEFT);
-        ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
-        FXCollections.reverse(tmp);
-        this.getChildren().setAll(tmp);
-        setAlignment(Pos.TOP_LEFT);
-        dialog.getStyleClass().add("reply-label");
-    }
-
-    public static DialogBox getUserDialog(String text, Image img) {
-        return new DialogBox(text, img);
+    public DialogBox() {
+        dialog.setWrapText(true);
+        dialog.setMinHeight(Region.USE_PREF_SIZE);
+        displayPicture.setId("displayPicture");
+        displayPicture.setFitHeight(PICTURE_SIZE);
+        displayPicture.setFitWidth(PICTURE_SIZE);
+        displayPicture.setPreserveRatio(true);
+        displayPicture.setPickOnBounds(true);
+        setPadding(new Insets(15.0, 5.0, 15.0, 5.0));
+        getStylesheets().add(STYLESHEET);
     }
 
-    public static DialogBox getHowlyDialog(String text, Image img, boolean isError) {
-        var db = new DialogBox(text, img);
-        db.flip();
-        if (isError) {
-            db.applyErrorStyle();
+    /**
+     * Shows a message in this box. The user's messages have the picture on the right, while Howly's
+     * replies are flipped so the picture is on the left.
+     *
+     * @param message The message to show.
+     * @param img The picture of the speaker.
+     */
+    public void show(ChatMessage message, Image img) {
+        dialog.setText(message.getText());
+        displayPicture.setImage(img);
+        if (message.isFromUser()) {
+            setAlignment(Pos.TOP_RIGHT);
+            getChildren().setAll(dialog, displayPicture);
+            dialog.getStyleClass().remove("reply-label");
+        } else {
+            setAlignment(Pos.TOP_LEFT);
+            getChildren().setAll(displayPicture, dialog);
+            if (!dialog.getStyleClass().contains("reply-label")) {
+                dialog.getStyleClass().add("reply-label");
+            }
+        }
+        getStyleClass().remove("error-dialog");
+        if (message.isError()) {
+            getStyleClass().add("error-dialog");
         }
-        return db;
-    }
-
-    private void applyErrorStyle() {
-        this.getStyleClass().add("error-dialog");
     }
 }
@@ -12,23 +12,28 @@ import howly.ui.Ui;
 /**
  * Acts as the main controller for the Howly chatbot application.
  * Manages the initialization of core components and coordinates the execution of tasks.
+ * Commands run one at a time, whichever thread submits them, because the storage journals positional
+ * changes and must record them in the order they were applied to the list.
  */
 public class Howly {
     private static final String FILE_PATH = "data" + File.separator + "howly.txt";
 
     private final Storage storage;
     private final Ui ui;
+    private final Object commandLock = new Object();
     private TaskList tasks;
 
     /**
      * Initializes the Howly application with the specified storage file path.
+     * The data file is kept in whatever format it is in, so converting it with {@code FormatConverter}
+     * switches the application to that format.
      * @param filePath The path to the file where task data is stored (e.g., "data/howly.txt").
      */
     public Howly(String filePath) {
         this.ui = new Ui();
-        this.storage = new Storage(filePath);
+        this.storage = Storage.forDataFile(filePath);
         try {
-            tasks = new TaskList(storage.load());
+            tasks = storage.loadList();
         } catch (HowlyException e) {
             ui.showError(e.getMessage());
             tasks = new TaskList();
@@ -57,7 +62,11 @@ public class Howly {
                     continue;
                 }
                 Command c = Parser.parse(fullCommand);
-                c.execute(tasks, ui, storage);
+                synchronized (commandLock) {
+                    c.execute(tasks, ui, storage, ui.getOutput());
+                }
+                ui.getOutput().println();
+                ui.showLine();
                 isExit = c.isExit();
             } catch (HowlyException e) {
                 ui.showError(e.getMessage());
@@ -65,6 +74,14 @@ public class Howly {
                 ui.showError("Please provide a valid task number.");
             }
         }
+        storage.close();
+    }
+
+    /**
+     * @return The task list that commands operate on.
+     */
+    public TaskList getTasks() {
+        return tasks;
     }
 
     /**
@@ -76,20 +93,39 @@ public class Howly {
     public String getResponse(String input) {
         try {
             Command c = Parser.parse(input);
-            return c.execute(tasks, ui, storage);
+            synchronized (commandLock) {
+                return c.execute(tasks, ui, storage);
+            }
         } catch (HowlyException | NumberFormatException e) {
             return "Gahhh! What's the point in living if I can't be beautiful...\n"
                     + e.getMessage();
         }
     }
 
+    /**
+     * Runs the commands in a file as one batch, prints the outcome and releases the storage.
+     *
+     * @param scriptPath The path to a file with one command per line.
+     */
+    public void runBatch(String scriptPath) {
+        ui.showLine();
+        ui.getOutput().println(getResponse("batch " + scriptPath));
+        ui.showLine();
+        storage.close();
+    }
+
     /**
      * Serves as the entry point for the command-line interface of Howly.
-     * Initializes the app with the default file path and begins the program execution.
+     * Initializes the app with the default file path and begins the program execution,
+     * or runs a script of commands as one batch when given "--batch FILE".
      *
-     * @param args Command line arguments (not used).
+     * @param args Command line arguments; either none or "--batch" followed by a script path.
      */
     public static void main(String[] args) {
+        if (args.length == 2 && args[0].equals("--batch")) {
+            new Howly().runBatch(args[1]);
+            return;
+        }
         new Howly().run();
     }
 }
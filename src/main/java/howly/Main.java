@@ -24,7 +24,7 @@ public class Main extends Application {
             stage.setScene(scene);
             stage.setResizable(false);
             stage.setMinHeight(600.0);
-            stage.setMinWidth(400.0);
+            stage.setMinWidth(900.0);
             fxmlLoader.<MainWindow>getController().setHowly(howly); // Inject the Howly instance
             stage.show();
         } catch (IOException e) {
@@ -1,26 +1,47 @@
 package howly;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import javafx.animation.PauseTransition; //for exit delay
 import javafx.application.Platform; //for graceful shutdown
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
 import javafx.util.Duration; //for time measurement
 
 /**
  * Controller for the main GUI of the Howly application.
  * Provides the layout for the other controls and handles user input.
+ * Commands run one at a time, in the order they were sent, on a background thread, so a slow command
+ * never freezes the window; a placeholder reply is shown until the real one is posted back.
+ * <p>
+ * The transcript is a virtualized list: only the visible messages have dialog boxes, which are
+ * reused as the list scrolls, and only the most recent {@link #MAX_MESSAGES} messages are kept.
+ * Beside it, a {@link TaskTablePanel} shows the task list itself, so long lists need not be read
+ * out in the chat.
+ * </p>
  */
 public class MainWindow extends AnchorPane {
-    @FXML private ScrollPane scrollPane;
-    @FXML private VBox dialogContainer;
+    private static final String PENDING_TEXT = "...";
+    private static final int MAX_MESSAGES = 1000;
+    private static final double CELL_INSET = 20.0;
+
+    @FXML private ListView<ChatMessage> transcript;
     @FXML private TextField userInput;
     @FXML private Button sendButton;
+    @FXML private TaskTablePanel taskPanel;
 
+    private final ExecutorService commandRunner = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "howly-commands");
+        t.setDaemon(true);
+        return t;
+    });
     private Howly howly;
 
     private Image userImage = new Image(this.getClass().getResourceAsStream("/images/calcifer.png"));
@@ -28,17 +49,15 @@ public class MainWindow extends AnchorPane {
     private Image poorHowly = new Image(this.getClass().getResourceAsStream("/images/poorhowl.png"));
 
     /**
-     * Initializes the controller. Binds the scroll pane to the dialog container's height
-     * and displays the initial greeting message.
+     * Initializes the controller. Sets up the transcript cells and displays the initial greeting message.
      */
     @FXML
     public void initialize() {
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
+        transcript.setCellFactory(list -> new MessageCell());
+        transcript.setFocusTraversable(false);
 
         String greeting = "Hello! I'm Howly\nWhat can I do for you?";
-        dialogContainer.getChildren().addAll(
-                DialogBox.getHowlyDialog(greeting, howlyImage, false)
-        );
+        addMessages(new ChatMessage(greeting, false, false));
     }
 
     /**
@@ -48,26 +67,40 @@ public class MainWindow extends AnchorPane {
      */
     public void setHowly(Howly h) {
         howly = h;
+        taskPanel.bind(h.getTasks(), commandRunner);
     }
 
     /**
-     * Creates two dialog boxes, one echoing user input and the other containing Howly's
-     * reply, and then appends them to the dialog container. Clears the user input
-     * after processing.
+     * Adds a message echoing user input and a placeholder for Howly's reply to the transcript.
+     * The command is then queued on the command thread, and the placeholder is replaced once
+     * its reply is ready. Clears the user input right away, so further commands can be sent
+     * while this one runs.
      */
     @FXML
     private void handleUserInput() {
         String input = userInput.getText();
-        String response = howly.getResponse(input);
+        ChatMessage pending = new ChatMessage(PENDING_TEXT, false, false);
+        addMessages(new ChatMessage(input, true, false), pending);
+        userInput.clear();
+
+        commandRunner.execute(() -> {
+            String response = howly.getResponse(input);
+            Platform.runLater(() -> showResponse(pending, input, response));
+        });
+    }
 
+    /**
+     * Replaces a placeholder reply with Howly's actual reply. Runs on the JavaFX thread.
+     */
+    private void showResponse(ChatMessage pending, String input, String response) {
         //AI assisted: implement error message check to display error image
         boolean isError = response.contains("Gahhh! What's the point in living if I can't be beautiful...");
 
-        Image currentHowlyImage = isError ? poorHowly : howlyImage;
-        dialogContainer.getChildren().addAll(DialogBox.getUserDialog(input, userImage),
-                DialogBox.getHowlyDialog(response, currentHowlyImage, isError)
-        );
-        userInput.clear();
+        ObservableList<ChatMessage> messages = transcript.getItems();
+        int position = messages.indexOf(pending);
+        if (position >= 0) {
+            messages.set(position, new ChatMessage(response, false, isError));
+        }
 
         //close GUI app if user issues "bye" command
         if (input.trim().equalsIgnoreCase("bye")) {
@@ -78,10 +111,43 @@ public class MainWindow extends AnchorPane {
     }
 
     /**
-     * Adds multiple dialog boxes to the container at once.
-     * @param containers The DialogBox nodes to be added.
+     * Appends messages to the transcript, dropping the oldest ones beyond the history limit,
+     * and scrolls to the newest message.
+     *
+     * @param newMessages The messages to be added.
      */
-    public void addDialogs(DialogBox... containers) {
-        dialogContainer.getChildren().addAll(containers);
+    public void addMessages(ChatMessage... newMessages) {
+        ObservableList<ChatMessage> messages = transcript.getItems();
+        messages.addAll(newMessages);
+        if (messages.size() > MAX_MESSAGES) {
+            messages.remove(0, messages.size() - MAX_MESSAGES);
+        }
+        transcript.scrollTo(messages.size() - 1);
+    }
+
+    /**
+     * Displays one message of the transcript, reusing a single dialog box for whichever message
+     * the cell is currently showing.
+     */
+    private class MessageCell extends ListCell<ChatMessage> {
+        private final DialogBox box = new DialogBox();
+
+        MessageCell() {
+            box.prefWidthProperty().bind(transcript.widthProperty().subtract(CELL_INSET));
+            box.maxWidthProperty().bind(box.prefWidthProperty());
+            setPrefWidth(0);
+        }
+
+        @Override
+        protected void updateItem(ChatMessage message, boolean isEmpty) {
+            super.updateItem(message, isEmpty);
+            if (isEmpty || message == null) {
+                setGraphic(null);
+                return;
+            }
+            Image img = message.isFromUser() ? userImage : message.isError() ? poorHowly : howlyImage;
+            box.show(message, img);
+            setGraphic(box);
+        }
     }
 }
@@ -0,0 +1,244 @@
+package howly;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+
+import howly.common.TaskList;
+import howly.common.TaskListListener;
+import howly.tasks.Deadline;
+import howly.tasks.Event;
+import howly.tasks.Task;
+
+/**
+ * Displays the task list as a virtualized table, with a filter box above it.
+ * <p>
+ * While unfiltered and unsorted, the table mirrors the task list row for row: each add, delete, mark
+ * or update is applied to the one affected row instead of reloading the table. A keyword filter is
+ * answered by the keyword index, and sorting by date walks the date index, so neither re-scans the
+ * list; while either is active, a change simply re-runs that query.
+ * </p>
+ * <p>
+ * The task list is only ever read on the command thread. Its changes and query results are posted back
+ * to the JavaFX thread in the order they happened, so the rows always catch up to the list.
+ * </p>
+ */
+public class TaskTablePanel extends VBox implements TaskListListener {
+    private final TextField filter = new TextField();
+    private final TableView<Task> table = new TableView<>();
+    private final TableColumn<Task, String> dateColumn = new TableColumn<>("Date");
+    private final ObservableList<Task> rows = FXCollections.observableArrayList();
+    private TaskList tasks;
+    private Executor commandRunner;
+    private String keyword = "";
+    private boolean isByDate;
+    private boolean isDescending;
+    private boolean isQueryPending;
+    private boolean isQueryStale;
+
+    /**
+     * Creates an empty panel; call {@link #bind(TaskList, Executor)} to show a task list in it.
+     */
+    public TaskTablePanel() {
+        TableColumn<Task, String> idColumn = column("ID", 60, task -> "#" + task.getId());
+        TableColumn<Task, String> typeColumn = column("Type", 70, TaskTablePanel::typeOf);
+        TableColumn<Task, String> doneColumn = column("Done", 50, task -> task.isDone() ? "X" : "");
+        TableColumn<Task, String> descriptionColumn = column("Description", 220, Task::getDescription);
+        dateColumn.setCellValueFactory(row -> new ReadOnlyObjectWrapper<>(datesOf(row.getValue())));
+        dateColumn.setPrefWidth(150);
+        table.getColumns().setAll(List.of(idColumn, typeColumn, doneColumn, descriptionColumn, dateColumn));
+        table.setItems(rows);
+        table.setPlaceholder(new Label("No tasks to show."));
+        table.setSortPolicy(view -> {
+            applySort();
+            return true;
+        });
+
+        filter.setPromptText("Filter by keyword");
+        filter.textProperty().addListener((observable, oldText, newText) -> {
+            keyword = newText.trim();
+            requery();
+        });
+        VBox.setVgrow(table, Priority.ALWAYS);
+        getChildren().setAll(filter, table);
+    }
+
+    /**
+     * Shows the given task list and keeps the table in step with it.
+     *
+     * @param taskList The task list to display.
+     * @param runner The executor that runs every command, and the only thread that touches the list.
+     */
+    public void bind(TaskList taskList, Executor runner) {
+        this.tasks = taskList;
+        this.commandRunner = runner;
+        isQueryPending = true;
+        runner.execute(() -> {
+            List<Task> snapshot = new ArrayList<>(taskList.getTasks());
+            taskList.addListener(this);
+            Platform.runLater(() -> showResult(snapshot));
+        });
+    }
+
+    @Override
+    public void taskAdded(int index, Task task) {
+        Platform.runLater(() -> {
+            if (isMirroring()) {
+                rows.add(index, task);
+            } else {
+                requery();
+            }
+        });
+    }
+
+    @Override
+    public void taskRemoved(int index, Task task) {
+        Platform.runLater(() -> {
+            if (isMirroring()) {
+                rows.remove(index);
+            } else {
+                requery();
+            }
+        });
+    }
+
+    @Override
+    public void taskChanged(int index, Task task) {
+        Platform.runLater(() -> {
+            if (isMirroring()) {
+                rows.set(index, task);
+            } else {
+                requery();
+            }
+        });
+    }
+
+    @Override
+    public void tasksRemoved(int[] indices, List<Task> removed) {
+        // One reload is cheaper than removing many rows one by one
+        Platform.runLater(this::requery);
+    }
+
+    @Override
+    public void tasksChanged(int[] indices, List<Task> changed) {
+        Platform.runLater(this::requery);
+    }
+
+    /**
+     * @return {@code true} if the rows are a one-to-one copy of the list that changes can be applied to.
+     */
+    private boolean isMirroring() {
+        return !isQueryPending && keyword.isEmpty() && !isByDate;
+    }
+
+    private void applySort() {
+        boolean byDate = !table.getSortOrder().isEmpty() && table.getSortOrder().get(0) == dateColumn;
+        boolean descending = byDate && dateColumn.getSortType() == TableColumn.SortType.DESCENDING;
+        if (byDate != isByDate || descending != isDescending) {
+            isByDate = byDate;
+            isDescending = descending;
+            requery();
+        }
+    }
+
+    /**
+     * Reloads the rows for the current filter and sort from the indexes, on the command thread.
+     * Requests made while a reload is running are merged into one more reload once it finishes.
+     */
+    private void requery() {
+        if (tasks == null) {
+            return;
+        }
+        if (isQueryPending) {
+            isQueryStale = true;
+            return;
+        }
+        isQueryPending = true;
+        String queryKeyword = keyword;
+        boolean byDate = isByDate;
+        boolean descending = isDescending;
+        commandRunner.execute(() -> {
+            List<Task> result = query(tasks, queryKeyword, byDate, descending);
+            Platform.runLater(() -> showResult(result));
+        });
+    }
+
+    private void showResult(List<Task> result) {
+        isQueryPending = false;
+        rows.setAll(result);
+        if (isQueryStale) {
+            isQueryStale = false;
+            requery();
+        }
+    }
+
+    /**
+     * Finds the tasks to show, using the keyword index to filter and the date index to sort.
+     * Runs on the command thread. Tasks without dates come after dated ones, in list order.
+     */
+    private static List<Task> query(TaskList tasks, String keyword, boolean byDate, boolean descending) {
+        List<Task> matches = keyword.isEmpty() ? new ArrayList<>(tasks.getTasks()) : tasks.findByKeyword(keyword);
+        if (!byDate) {
+            return matches;
+        }
+        Map<Task, Boolean> wanted = new IdentityHashMap<>();
+        matches.forEach(task -> wanted.put(task, Boolean.TRUE));
+        List<Task> sorted = new ArrayList<>(matches.size());
+        tasks.forEachBetween(LocalDate.MIN, LocalDate.MAX, task -> {
+            if (wanted.remove(task) != null) {
+                sorted.add(task);
+            }
+        });
+        if (descending) {
+            Collections.reverse(sorted);
+        }
+        for (Task task : matches) {
+            if (wanted.containsKey(task)) {
+                sorted.add(task);
+            }
+        }
+        return sorted;
+    }
+
+    private static TableColumn<Task, String> column(String title, double width,
+            Function<Task, String> value) {
+        TableColumn<Task, String> column = new TableColumn<>(title);
+        column.setCellValueFactory(row -> new ReadOnlyObjectWrapper<>(value.apply(row.getValue())));
+        column.setPrefWidth(width);
+        column.setSortable(false);
+        return column;
+    }
+
+    private static String typeOf(Task task) {
+        if (task instanceof Deadline) {
+            return "Deadline";
+        }
+        return task instanceof Event ? "Event" : "Todo";
+    }
+
+    private static String datesOf(Task task) {
+        if (task instanceof Deadline deadline) {
+            return "by " + deadline.getBy();
+        }
+        if (task instanceof Event event) {
+            return event.getFrom() + " to " + event.getTo();
+        }
+        return "";
+    }
+}
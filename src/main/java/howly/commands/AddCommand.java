@@ -5,6 +5,7 @@ import howly.common.TaskList;
 import howly.parser.Parser;
 import howly.storage.Storage;
 import howly.tasks.Deadline;
+import howly.tasks.DescriptionPool;
 import howly.tasks.Event;
 import howly.tasks.Task;
 import howly.tasks.ToDo;
@@ -32,6 +33,7 @@ public class AddCommand extends Command {
     /**
      * Executes the add command by parsing the input, creating the appropriate task,
      * adding it to the task list, and saving the updated list to storage.
+     * The description is shared through the {@link DescriptionPool} with any task that has the same one.
      *
      * @param tasks The list of tasks where the new task will be added.
      * @param ui The user interface used to display feedback to the user.
@@ -40,22 +42,23 @@ public class AddCommand extends Command {
      */
     @Override
     public String execute(TaskList tasks, Ui ui, Storage storage) throws HowlyException {
+        DescriptionPool pool = DescriptionPool.shared();
         try {
             Task newTask = switch (type) {
-            case TODO -> new ToDo(Parser.parseTodo(arguments)); // Logic moved to help methods
+            case TODO -> new ToDo(pool.intern(Parser.parseTodo(arguments))); // Logic moved to help methods
             case DEADLINE -> {
                 String[] dParts = Parser.parseDeadline(arguments);
-                yield new Deadline(dParts[0], dParts[1]);
+                yield new Deadline(pool.intern(dParts[0]), dParts[1]);
             }
             case EVENT -> {
                 String[] eParts = Parser.parseEvent(arguments);
-                yield new Event(eParts[0], eParts[1], eParts[2]);
+                yield new Event(pool.intern(eParts[0]), eParts[1], eParts[2]);
             }
             default -> throw new HowlyException("Unknown task type.");
             };
 
             tasks.add(newTask);
-            storage.save(tasks.getTasks());
+            storage.saveAdd(tasks.getTasks(), newTask);
             return ui.formatMessages(
                     "Got it. I've added this task:",
                     "  " + newTask,
@@ -0,0 +1,93 @@
+package howly.commands;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import howly.common.HowlyException;
+import howly.common.TaskList;
+import howly.parser.Parser;
+import howly.storage.Storage;
+import howly.ui.Ui;
+
+/**
+ * Represents a command that runs many commands as one all-or-nothing batch.
+ * <p>
+ * Every command is parsed and executed in order against the task list, while storage holds back
+ * its writes. If all of them succeed, the list is saved once at the end. If any of them fails,
+ * the remaining commands are still checked so that every failure is reported, and then every change
+ * made by the batch is undone and nothing is saved.
+ * </p>
+ */
+public class BatchCommand extends Command {
+    private final String source;
+    private final List<String> lines;
+
+    /**
+     * Constructs a {@code BatchCommand} for the given command lines.
+     * Blank lines and lines starting with '#' are skipped.
+     *
+     * @param source A name for where the lines came from, used in the report.
+     * @param lines The commands to run, one per line.
+     */
+    public BatchCommand(String source, List<String> lines) {
+        this.source = source;
+        this.lines = lines;
+    }
+
+    /**
+     * Executes every command of the batch, keeping all of their changes or none of them.
+     *
+     * @param tasks The list of tasks the commands operate on.
+     * @param ui The user interface passed on to each command.
+     * @param storage The storage system, written once if the batch succeeds.
+     * @return A summary of the batch, or a report of every failed command if it was rolled back.
+     * @throws HowlyException If the final save fails.
+     */
+    @Override
+    public String execute(TaskList tasks, Ui ui, Storage storage) throws HowlyException {
+        List<String> failures = new ArrayList<>();
+        int count = 0;
+        tasks.beginTransaction();
+        storage.beginBatch();
+        try {
+            for (int i = 0; i < lines.size(); i++) {
+                String line = lines.get(i).trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                count++;
+                try {
+                    Command command = Parser.parse(line);
+                    if (command.isExit() || command instanceof BatchCommand) {
+                        throw new HowlyException("This command cannot be used in a batch.");
+                    }
+                    command.execute(tasks, ui, storage);
+                } catch (HowlyException e) {
+                    failures.add("Line " + (i + 1) + " (" + line + "): " + e.getMessage());
+                } catch (NumberFormatException e) {
+                    failures.add("Line " + (i + 1) + " (" + line + "): Please provide a valid task number.");
+                }
+            }
+        } catch (RuntimeException e) {
+            tasks.rollbackTransaction();
+            storage.abortBatch();
+            throw e;
+        }
+
+        if (!failures.isEmpty()) {
+            tasks.rollbackTransaction();
+            storage.abortBatch();
+            throw new HowlyException("The batch from " + source + " was rolled back; no changes were saved. "
+                    + failures.size() + " of " + count + " commands failed:\n" + String.join("\n", failures));
+        }
+        try {
+            storage.endBatch(tasks.getTasks());
+        } catch (HowlyException e) {
+            tasks.rollbackTransaction();
+            throw e;
+        }
+        tasks.commitTransaction();
+        return "Done! Ran all " + count + " commands from " + source + " and saved them together.\n"
+                + "Now you have " + tasks.size() + " tasks in the list.";
+    }
+}
@@ -0,0 +1,46 @@
+package howly.commands;
+
+import java.util.List;
+
+import howly.common.HowlyException;
+import howly.common.TaskList;
+import howly.storage.Storage;
+import howly.tasks.Task;
+import howly.ui.Ui;
+
+/**
+ * Represents a command to delete many tasks at once, such as "delete 3,7,9" or "delete /done".
+ * The tasks are removed from the list in a single pass and the removal is saved with a single write.
+ */
+public class BulkDeleteCommand extends Command {
+    private final TaskSelection selection;
+
+    /**
+     * @param selection The tasks to delete.
+     */
+    public BulkDeleteCommand(TaskSelection selection) {
+        this.selection = selection;
+    }
+
+    /**
+     * Executes the bulk delete by finding the selected tasks, removing them together
+     * and persisting the removal once.
+     *
+     * @param tasks The list of tasks from which the tasks will be removed.
+     * @param ui The user interface (unused by this command).
+     * @param storage The storage handler used to persist the updated task list.
+     * @return The removed tasks and the number of tasks left.
+     * @throws HowlyException If a selected task does not exist, or the removal cannot be saved.
+     */
+    @Override
+    public String execute(TaskList tasks, Ui ui, Storage storage) throws HowlyException {
+        int[] indices = selection.resolve(tasks);
+        if (indices.length == 0) {
+            return "No tasks matched, so nothing was removed.";
+        }
+        List<Task> removed = tasks.deleteAll(indices);
+        storage.saveDeleteAll(tasks.getTasks(), indices);
+        return "Noted. I've removed these " + removed.size() + " tasks:" + TaskSelection.summarize(removed)
+                + "\nNow you have " + tasks.size() + " tasks in the list.";
+    }
+}
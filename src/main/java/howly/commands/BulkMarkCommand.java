@@ -0,0 +1,51 @@
+package howly.commands;
+
+import java.util.List;
+
+import howly.common.HowlyException;
+import howly.common.TaskList;
+import howly.storage.Storage;
+import howly.tasks.Task;
+import howly.ui.Ui;
+
+/**
+ * Represents a command to mark or unmark many tasks at once, such as "mark 1-500".
+ * The tasks are updated as one change to the list and saved with a single write.
+ */
+public class BulkMarkCommand extends Command {
+    private final TaskSelection selection;
+    private final boolean isMark;
+
+    /**
+     * @param selection The tasks to mark or unmark.
+     * @param isMark A boolean indicating if the tasks should be marked as done (true) or undone (false).
+     */
+    public BulkMarkCommand(TaskSelection selection, boolean isMark) {
+        this.selection = selection;
+        this.isMark = isMark;
+    }
+
+    /**
+     * Executes the bulk mark or unmark by finding the selected tasks, updating them together
+     * and persisting the change once.
+     *
+     * @param tasks The list of tasks containing the selected tasks.
+     * @param ui The user interface (unused by this command).
+     * @param storage The storage handler used to save the updated task statuses.
+     * @return The updated tasks.
+     * @throws HowlyException If a selected task does not exist, or the change cannot be saved.
+     */
+    @Override
+    public String execute(TaskList tasks, Ui ui, Storage storage) throws HowlyException {
+        int[] indices = selection.resolve(tasks);
+        if (indices.length == 0) {
+            return "No tasks matched, so nothing was changed.";
+        }
+        List<Task> changed = tasks.markAll(indices, isMark);
+        storage.saveMarkAll(tasks.getTasks(), indices, isMark);
+        String header = isMark
+                ? "Nice! I've marked these " + changed.size() + " tasks as done:"
+                : "OK, I've marked these " + changed.size() + " tasks as not done yet:";
+        return header + TaskSelection.summarize(changed);
+    }
+}
@@ -1,5 +1,7 @@
 package howly.commands;
 
+import java.io.IOException;
+
 import howly.common.HowlyException;
 import howly.common.TaskList;
 import howly.storage.Storage;
@@ -20,6 +22,26 @@ public abstract class Command {
      */
     public abstract String execute(TaskList tasks, Ui ui, Storage storage) throws HowlyException;
 
+    /**
+     * Executes the command and writes its response to the given sink.
+     * By default the whole response is built first; commands with large responses override this
+     * to write their output piece by piece instead.
+     *
+     * @param tasks The list of tasks to be operated on.
+     * @param ui The user interface used to interact with the user.
+     * @param storage The storage system used to save or load task data.
+     * @param sink The destination the response is written to.
+     * @throws HowlyException If an error occurs during the command execution or the sink cannot be written.
+     */
+    public void execute(TaskList tasks, Ui ui, Storage storage, Appendable sink) throws HowlyException {
+        String response = execute(tasks, ui, storage);
+        try {
+            sink.append(response);
+        } catch (IOException e) {
+            throw new HowlyException("Could not write the response: " + e.getMessage());
+        }
+    }
+
     /**
      * Indicates whether this command should terminate the application's main loop.
      * By default, commands return false unless overridden by specific termination commands.
@@ -1,12 +1,34 @@
 package howly.commands;
 
+import java.util.Arrays;
+
 /**
  * Represents the various types of commands that the Howly chatbot can execute.
  * This enum is used by the Parser to categorize user input and determine
  * which Command object to instantiate.
  */
 public enum CommandType {
-    TODO, DEADLINE, EVENT, LIST, MARK, UNMARK, DELETE, UNKNOWN, BYE, FINDDATE, FIND, UPDATE;
+    TODO, DEADLINE, EVENT, LIST, MARK, UNMARK, DELETE, UNKNOWN, BYE, FINDDATE, FIND, UPDATE, FINDRANGE, UPCOMING, BATCH,
+    EXPORT;
+
+    /** The command words grouped by their first letter, so a word is only compared with a few candidates. */
+    private static final CommandType[][] BY_FIRST_LETTER = new CommandType[26][];
+
+    static {
+        for (int letter = 0; letter < BY_FIRST_LETTER.length; letter++) {
+            BY_FIRST_LETTER[letter] = new CommandType[0];
+        }
+        for (CommandType type : values()) {
+            if (type == UNKNOWN) {
+                continue;
+            }
+            int letter = type.name().charAt(0) - 'A';
+            CommandType[] candidates = BY_FIRST_LETTER[letter];
+            CommandType[] grown = Arrays.copyOf(candidates, candidates.length + 1);
+            grown[candidates.length] = type;
+            BY_FIRST_LETTER[letter] = grown;
+        }
+    }
 
     /**
      * Converts a string to a CommandType safely.
@@ -15,10 +37,32 @@ public enum CommandType {
      * @return The matching Enum or UNKNOWN
      */
     public static CommandType fromString(String userInput) {
-        try {
-            return CommandType.valueOf(userInput.toUpperCase());
-        } catch (IllegalArgumentException e) {
+        return fromString(userInput, 0, userInput.length());
+    }
+
+    /**
+     * Converts part of a string to a CommandType, ignoring case, without copying the word out.
+     *
+     * @param input The string holding the command word.
+     * @param start The index of the first character of the word.
+     * @param end The index just past the last character of the word.
+     * @return The matching Enum or UNKNOWN
+     */
+    public static CommandType fromString(String input, int start, int end) {
+        if (start >= end) {
             return UNKNOWN;
         }
+        int letter = Character.toUpperCase(input.charAt(start)) - 'A';
+        if (letter < 0 || letter >= BY_FIRST_LETTER.length) {
+            return UNKNOWN;
+        }
+        int length = end - start;
+        for (CommandType type : BY_FIRST_LETTER[letter]) {
+            String name = type.name();
+            if (name.length() == length && input.regionMatches(true, start, name, 0, length)) {
+                return type;
+            }
+        }
+        return UNKNOWN;
     }
 }
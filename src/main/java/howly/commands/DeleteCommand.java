@@ -11,10 +11,17 @@ import howly.ui.Ui;
  * This class handles the validation of the task index and the removal of the task.
  */
 public class DeleteCommand extends Command {
-    private final int targetIndex;
+    private final TaskTarget target;
 
     public DeleteCommand(int index) {
-        this.targetIndex = index;
+        this(TaskTarget.ofIndex(index));
+    }
+
+    /**
+     * @param target The task to delete, by position or by id.
+     */
+    public DeleteCommand(TaskTarget target) {
+        this.target = target;
     }
 
     /**
@@ -26,10 +33,11 @@ public class DeleteCommand extends Command {
      * @param tasks The list of tasks from which the task will be removed.
      * @param ui The user interface used to provide feedback to the user.
      * @param storage The storage handler used to persist the updated task list.
-     * @throws HowlyException If the input format is invalid or the task index is out of bounds.
+     * @throws HowlyException If the task index is out of bounds or no task has the given id.
      */
     @Override
     public String execute(TaskList tasks, Ui ui, Storage storage) throws HowlyException {
+        int targetIndex = target.resolve(tasks);
         assert targetIndex >= 0 : "Target index for deletion should be non-negative"; //
 
         if (targetIndex >= tasks.size()) {
@@ -37,7 +45,7 @@ public class DeleteCommand extends Command {
         }
 
         Task deletedTask = tasks.delete(targetIndex);
-        storage.save(tasks.getTasks());
+        storage.saveDelete(tasks.getTasks(), targetIndex);
         return "Noted. I've removed this task:\n  " + deletedTask
                 + "\nNow you have " + tasks.size() + " tasks in the list.";
     }
@@ -12,16 +12,17 @@ import howly.ui.Ui;
  */
 public class ExitCommand extends Command {
     /**
-     * Executes the exit command by verifying that the input contains no trailing
-     * arguments and displaying a farewell message to the user.
+     * Executes the exit command by making sure every change is saved to disk
+     * and displaying a farewell message to the user.
      *
      * @param tasks The current list of tasks (unused by this command).
      * @param ui The user interface used to display the farewell message.
-     * @param storage The storage system (unused by this command).
+     * @param storage The storage system, flushed before exiting.
      * @throws HowlyException If there are trailing arguments after the 'bye' command.
      */
     @Override
     public String execute(TaskList tasks, Ui ui, Storage storage) throws HowlyException {
+        storage.flush();
         return "Bye. Hope to see you again soon!";
     }
 
@@ -0,0 +1,47 @@
+package howly.commands;
+
+import java.nio.file.Path;
+
+import howly.common.HowlyException;
+import howly.common.TaskList;
+import howly.storage.ExportFormat;
+import howly.storage.ExportStats;
+import howly.storage.Storage;
+import howly.ui.Ui;
+
+/**
+ * Represents a command to export every task to a CSV, JSON Lines or iCalendar file for other tools.
+ * The tasks are streamed to the file one at a time, and the reply reports the export's throughput.
+ */
+public class ExportCommand extends Command {
+    private final ExportFormat format;
+    private final Path target;
+
+    /**
+     * Constructs an {@code ExportCommand} writing the given file in the given format.
+     *
+     * @param format The format to export the tasks in.
+     * @param target The file to write, replaced if it exists.
+     */
+    public ExportCommand(ExportFormat format, Path target) {
+        this.format = format;
+        this.target = target;
+    }
+
+    /**
+     * Executes the export through the storage and reports how many tasks were written and how fast.
+     *
+     * @param tasks The list of tasks to export.
+     * @param ui The user interface (unused by this command).
+     * @param storage The storage system that writes the export.
+     * @return A summary of the export, including its size and throughput.
+     * @throws HowlyException If the file cannot be written.
+     */
+    @Override
+    public String execute(TaskList tasks, Ui ui, Storage storage) throws HowlyException {
+        ExportStats stats = storage.export(tasks, target, format);
+        return String.format("Exported %d tasks to %s as %s: %.1f MB in %d ms (%.1f MB/s).",
+                stats.getTasks(), target, format, stats.getBytes() / 1e6, stats.getNanos() / 1_000_000,
+                stats.getMegabytesPerSecond());
+    }
+}
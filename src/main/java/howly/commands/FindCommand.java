@@ -29,6 +29,7 @@ public class FindCommand extends Command {
     /**
      * Executes the find command by filtering the task list for matches.
      * The search is case-insensitive and returns an indexed list of matching tasks.
+     * Only the candidates from the keyword index of the {@link TaskList} are examined.
      * @param tasks The list of tasks to be operated on.
      * @param ui The user interface used to interact with the user.
      * @param storage The storage system used to save or load task data.
@@ -37,9 +38,7 @@ public class FindCommand extends Command {
      */
     @Override
     public String execute(TaskList tasks, Ui ui, Storage storage) throws HowlyException {
-        List<Task> matchingTasks = tasks.getTasks().stream()
-                .filter(t -> t.toString().toLowerCase().contains(keyword.toLowerCase()))
-                .toList();
+        List<Task> matchingTasks = tasks.findByKeyword(keyword);
 
         if (matchingTasks.isEmpty()) {
             return "No matching tasks found for: " + keyword;
@@ -2,6 +2,7 @@ package howly.commands;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 import howly.common.HowlyException;
 import howly.common.TaskList;
@@ -14,6 +15,8 @@ import howly.ui.Ui;
  * This class handles date parsing and iterates through the task list to find matches.
  */
 public class FindDateCommand extends Command {
+    private static final DateTimeFormatter HEADER_DATE = DateTimeFormatter.ofPattern("MMM dd yyyy");
+
     private final LocalDate targetDate;
 
     public FindDateCommand(LocalDate date) {
@@ -24,8 +27,8 @@ public class FindDateCommand extends Command {
      * Executes the search command by parsing the target date and printing all tasks
      * that match that date.
      * <p>
-     * This method performs strict argument validation and uses the {@link Task#isOnDate(LocalDate)}
-     * method of each task to determine if it should be displayed.
+     * Matches are looked up from the date index of the {@link TaskList} rather than by calling
+     * {@link Task#isOnDate(LocalDate)} on every task, and are numbered in list order.
      * </p>
      *
      * @param tasks The list of tasks to search through.
@@ -36,16 +39,14 @@ public class FindDateCommand extends Command {
     @Override
     public String execute(TaskList tasks, Ui ui, Storage storage) throws HowlyException {
         StringBuilder sb = new StringBuilder("Here are the tasks occurring on "
-                + targetDate.format(DateTimeFormatter.ofPattern("MMM dd yyyy")) + ":\n");
+                + targetDate.format(HEADER_DATE) + ":\n");
 
-        int count = 0;
-        for (int i = 0; i < tasks.size(); i++) {
-            Task task = tasks.get(i);
-            if (task.isOnDate(targetDate)) {
-                count++;
-                sb.append(count).append(".").append(task).append("\n");
-            }
+        List<Task> matches = tasks.findOnDate(targetDate);
+        for (int i = 0; i < matches.size(); i++) {
+            Task task = matches.get(i);
+            assert task.isOnDate(targetDate) : "Date index returned a task not on the target date";
+            sb.append(i + 1).append(".").append(task).append("\n");
         }
-        return count == 0 ? "No tasks found for this date." : sb.toString().trim();
+        return matches.isEmpty() ? "No tasks found for this date." : sb.toString().trim();
     }
 }
@@ -0,0 +1,85 @@
+package howly.commands;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+import howly.common.HowlyException;
+import howly.common.TaskList;
+import howly.storage.Storage;
+import howly.ui.Ui;
+
+/**
+ * Represents a command to display the deadlines and events that fall within a range of dates.
+ * This class backs both the 'findrange' and the 'upcoming' commands.
+ */
+public class FindRangeCommand extends Command {
+    private static final DateTimeFormatter HEADER_DATE = DateTimeFormatter.ofPattern("MMM dd yyyy");
+
+    private final LocalDate from;
+    private final LocalDate to;
+
+    /**
+     * Constructs a {@code FindRangeCommand} for the given inclusive range.
+     *
+     * @param from The first date of the range.
+     * @param to The last date of the range.
+     */
+    public FindRangeCommand(LocalDate from, LocalDate to) {
+        assert !from.isAfter(to) : "Range should not end before it starts";
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Executes the search and returns the whole response as a single string.
+     *
+     * @param tasks The list of tasks to search through.
+     * @param ui The user interface (unused by this command).
+     * @param storage The storage system (unused by this command).
+     * @return The chronologically numbered matches, or a "not found" message.
+     * @throws HowlyException If an error occurs during execution.
+     */
+    @Override
+    public String execute(TaskList tasks, Ui ui, Storage storage) throws HowlyException {
+        StringBuilder sb = new StringBuilder();
+        execute(tasks, ui, storage, sb);
+        return sb.toString();
+    }
+
+    /**
+     * Executes the search by walking the date index of the task list, writing each match to the sink
+     * as soon as the index yields it, in chronological order, so a wide range is never held in memory.
+     *
+     * @param tasks The list of tasks to search through.
+     * @param ui The user interface (unused by this command).
+     * @param storage The storage system (unused by this command).
+     * @param sink The destination the numbered matches are written to.
+     * @throws HowlyException If the sink cannot be written.
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage, Appendable sink) throws HowlyException {
+        int[] count = {0};
+        try {
+            tasks.forEachBetween(from, to, task -> {
+                try {
+                    if (count[0] == 0) {
+                        sink.append("Here are the tasks from ").append(from.format(HEADER_DATE))
+                                .append(" to ").append(to.format(HEADER_DATE)).append(":");
+                    }
+                    sink.append('\n').append(String.valueOf(++count[0])).append('.').append(task.toString());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (count[0] == 0) {
+                sink.append("No tasks found in this date range.");
+            }
+        } catch (UncheckedIOException e) {
+            throw new HowlyException("Could not write the matching tasks: " + e.getCause().getMessage());
+        } catch (IOException e) {
+            throw new HowlyException("Could not write the matching tasks: " + e.getMessage());
+        }
+    }
+}
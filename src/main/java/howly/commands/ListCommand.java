@@ -1,38 +1,126 @@
 package howly.commands;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
 import howly.common.HowlyException;
 import howly.common.TaskList;
 import howly.storage.Storage;
+import howly.tasks.Task;
 import howly.ui.Ui;
 
 /**
- * Represents a command to display all tasks currently in the task list.
- * This class ensures the command is used without extra arguments and iterates
- * through the list to print each task.
+ * Represents a command to display the tasks currently in the task list.
+ * The whole list can be shown, or one page of it when a page number and size are given.
+ * The response is written to a sink one task at a time, and the tasks are read from the list a page or
+ * a chunk at a time, so a long list is never held in memory at once. A page and the page count are read
+ * together, and the whole list is walked by id, so a change made by another thread meanwhile cannot make
+ * a task appear twice.
+ * Each task is shown with its id, which commands accept in place of its position, e.g. "mark #12".
  */
 public class ListCommand extends Command {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int CHUNK_SIZE = 1024;
+
+    private final int page;
+    private final int pageSize;
+
+    /**
+     * Constructs a {@code ListCommand} that displays every task.
+     */
+    public ListCommand() {
+        this(0, 0);
+    }
+
     /**
-     * Executes the list command by verifying the input format and printing
-     * all tasks in the current list to the user interface.
-     * <p>
-     * This method performs strict validation to ensure that no trailing arguments
-     * follow the 'list' command.
-     * </p>
+     * Constructs a {@code ListCommand} that displays a single page of tasks.
+     *
+     * @param page The one-based page number, or 0 to display every task.
+     * @param pageSize The number of tasks on each page.
+     */
+    public ListCommand(int page, int pageSize) {
+        assert page == 0 || pageSize > 0 : "Page size should be positive";
+        this.page = page;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Executes the list command and returns the whole response as a single string.
      *
      * @param tasks The list of tasks to be displayed.
-     * @param ui The user interface used to print the task list.
+     * @param ui The user interface (unused by this command).
      * @param storage The storage system (unused by this command).
-     * @throws HowlyException If there are trailing arguments after the 'list' command.
+     * @return The numbered tasks, or a message that the list is empty.
+     * @throws HowlyException If the requested page does not exist.
      */
     @Override
     public String execute(TaskList tasks, Ui ui, Storage storage) throws HowlyException {
-        if (tasks.size() == 0) {
-            return "Your task list is currently empty.";
+        StringBuilder sb = new StringBuilder();
+        execute(tasks, ui, storage, sb);
+        return sb.toString();
+    }
+
+    /**
+     * Executes the list command, writing each task to the sink as it is reached.
+     * Tasks keep their position in the full list as their number, even when a later page is shown.
+     *
+     * @param tasks The list of tasks to be displayed.
+     * @param ui The user interface (unused by this command).
+     * @param storage The storage system (unused by this command).
+     * @param sink The destination the numbered tasks are written to.
+     * @throws HowlyException If the requested page does not exist or the sink cannot be written.
+     */
+    @Override
+    public void execute(TaskList tasks, Ui ui, Storage storage, Appendable sink) throws HowlyException {
+        try {
+            if (page == 0) {
+                appendAll(tasks, sink);
+                return;
+            }
+            List<Task> shown = new ArrayList<>();
+            int from = (page - 1) * pageSize;
+            int size = tasks.copyRange(from, from + pageSize, shown);
+            if (size == 0) {
+                sink.append("Your task list is currently empty.");
+                return;
+            }
+            int pageCount = (size + pageSize - 1) / pageSize;
+            if (page > pageCount) {
+                throw new HowlyException("There is no page " + page + ". Your list only has "
+                        + pageCount + (pageCount == 1 ? " page." : " pages."));
+            }
+            sink.append("Here are the tasks in your list (page ").append(String.valueOf(page))
+                    .append(" of ").append(String.valueOf(pageCount)).append("):");
+            for (int i = 0; i < shown.size(); i++) {
+                appendTask(sink, from + i + 1, shown.get(i));
+            }
+        } catch (IOException e) {
+            throw new HowlyException("Could not write the task list: " + e.getMessage());
         }
-        StringBuilder sb = new StringBuilder("Here are the tasks in your list:\n");
-        for (int i = 0; i < tasks.size(); i++) {
-            sb.append(i + 1).append(". ").append(tasks.get(i)).append("\n");
+    }
+
+    /**
+     * Writes every task, fetching them a chunk at a time after the id of the last one written.
+     */
+    private static void appendAll(TaskList tasks, Appendable sink) throws IOException {
+        List<Task> chunk = tasks.getTasksAfter(0, CHUNK_SIZE);
+        if (chunk.isEmpty()) {
+            sink.append("Your task list is currently empty.");
+            return;
         }
-        return sb.toString().trim();
+        sink.append("Here are the tasks in your list:");
+        int number = 1;
+        while (!chunk.isEmpty()) {
+            for (Task task : chunk) {
+                appendTask(sink, number++, task);
+            }
+            chunk = tasks.getTasksAfter(chunk.get(chunk.size() - 1).getId(), CHUNK_SIZE);
+        }
+    }
+
+    private static void appendTask(Appendable sink, int number, Task task) throws IOException {
+        sink.append('\n').append(String.valueOf(number)).append(". ").append(task.toString())
+                .append(" (#").append(String.valueOf(task.getId())).append(')');
     }
 }
@@ -11,7 +11,7 @@ import howly.ui.Ui;
  * This class can either mark a task as completed or revert it to a not-done state.
  */
 public class MarkCommand extends Command {
-    private final int targetIndex;
+    private final TaskTarget target;
     private final boolean isMark;
 
     /**
@@ -19,7 +19,15 @@ public class MarkCommand extends Command {
      * @param isMark A boolean indicating if the task should be marked as done (true) or undone (false).
      */
     public MarkCommand(int index, boolean isMark) {
-        this.targetIndex = index;
+        this(TaskTarget.ofIndex(index), isMark);
+    }
+
+    /**
+     * @param target The task to mark or unmark, by position or by id.
+     * @param isMark A boolean indicating if the task should be marked as done (true) or undone (false).
+     */
+    public MarkCommand(TaskTarget target, boolean isMark) {
+        this.target = target;
         this.isMark = isMark;
     }
 
@@ -34,24 +42,23 @@ public class MarkCommand extends Command {
      * @param tasks   The list of tasks containing the target task.
      * @param ui      The user interface used to provide confirmation to the user.
      * @param storage The storage handler used to save the updated task status.
-     * @throws HowlyException If the argument count is incorrect or the index is out of bounds.
+     * @throws HowlyException If the index is out of bounds or no task has the given id.
      */
     @Override
     public String execute(TaskList tasks, Ui ui, Storage storage) throws HowlyException {
+        int targetIndex = target.resolve(tasks);
         assert targetIndex >= 0 : "Target index should be non-negative"; // Incorporating A-Assertions
 
         if (targetIndex >= tasks.size()) {
             throw new HowlyException("Task index " + (targetIndex + 1) + " does not exist.");
         }
 
-        Task task = tasks.get(targetIndex);
+        Task task = tasks.mark(targetIndex, isMark);
         if (isMark) {
-            task.markAsDone();
-            storage.save(tasks.getTasks());
+            storage.saveMark(tasks.getTasks(), targetIndex, true);
             return "Nice! I've marked this task as done:\n  " + task;
         } else {
-            task.markAsNotDone();
-            storage.save(tasks.getTasks());
+            storage.saveMark(tasks.getTasks(), targetIndex, false);
             return "OK, I've marked this task as not done yet:\n  " + task;
         }
     }
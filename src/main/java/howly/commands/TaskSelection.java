@@ -0,0 +1,89 @@
+package howly.commands;
+
+import java.util.BitSet;
+import java.util.List;
+
+import howly.common.HowlyException;
+import howly.common.TaskList;
+import howly.tasks.Task;
+
+/**
+ * Represents the tasks a bulk command acts on: any mix of positions, ranges of positions and ids,
+ * such as "1-500" or "3,7,#12", or every completed task.
+ */
+public class TaskSelection {
+    private static final int MAX_SHOWN = 10;
+
+    private final List<TaskTarget> targets;
+    private final List<int[]> ranges;
+    private final boolean isCompleted;
+
+    private TaskSelection(List<TaskTarget> targets, List<int[]> ranges, boolean isCompleted) {
+        this.targets = targets;
+        this.ranges = ranges;
+        this.isCompleted = isCompleted;
+    }
+
+    /**
+     * @param targets The single tasks to select, by position or by id.
+     * @param ranges The ranges of tasks to select, each as its first and last zero-based position.
+     * @return A selection of every task given.
+     */
+    public static TaskSelection of(List<TaskTarget> targets, List<int[]> ranges) {
+        return new TaskSelection(targets, ranges, false);
+    }
+
+    /**
+     * @return A selection of every task that is marked as done when the command runs.
+     */
+    public static TaskSelection completed() {
+        return new TaskSelection(List.of(), List.of(), true);
+    }
+
+    /**
+     * Finds the current positions of the selected tasks. A task selected more than once counts once.
+     *
+     * @param tasks The list holding the tasks.
+     * @return The zero-based indices of the selected tasks, in ascending order.
+     * @throws HowlyException If a selected position is not in the list, or no task has a selected id.
+     */
+    int[] resolve(TaskList tasks) throws HowlyException {
+        if (isCompleted) {
+            return tasks.indicesWhere(Task::isDone);
+        }
+        int size = tasks.size();
+        BitSet selected = new BitSet(size);
+        for (TaskTarget target : targets) {
+            selected.set(checked(target.resolve(tasks), size));
+        }
+        for (int[] range : ranges) {
+            checked(range[1], size);
+            selected.set(range[0], range[1] + 1);
+        }
+        return selected.stream().toArray();
+    }
+
+    /**
+     * Lists the given tasks one per line, showing only the first few of a long list.
+     *
+     * @param tasks The tasks to list.
+     * @return The indented lines.
+     */
+    static String summarize(List<Task> tasks) {
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < Math.min(tasks.size(), MAX_SHOWN); i++) {
+            lines.append("\n  ").append(tasks.get(i));
+        }
+        if (tasks.size() > MAX_SHOWN) {
+            lines.append("\n  ...and ").append(tasks.size() - MAX_SHOWN).append(" more");
+        }
+        return lines.toString();
+    }
+
+    private static int checked(int index, int size) throws HowlyException {
+        if (index >= size) {
+            throw new HowlyException("Task index " + (index + 1) + " does not exist.");
+        }
+        return index;
+    }
+}
@@ -0,0 +1,53 @@
+package howly.commands;
+
+import howly.common.HowlyException;
+import howly.common.TaskList;
+
+/**
+ * Represents the task a command acts on, given either by its position in the list or by its id.
+ * A position refers to whichever task is there when the command runs, while an id always refers
+ * to the same task, however the tasks before it change.
+ */
+public class TaskTarget {
+    private final int index;
+    private final long id;
+
+    private TaskTarget(int index, long id) {
+        this.index = index;
+        this.id = id;
+    }
+
+    /**
+     * @param index The zero-based position of the task.
+     * @return A target referring to the task at the position.
+     */
+    public static TaskTarget ofIndex(int index) {
+        return new TaskTarget(index, 0);
+    }
+
+    /**
+     * @param id The id of the task.
+     * @return A target referring to the task with the id.
+     */
+    public static TaskTarget ofId(long id) {
+        return new TaskTarget(-1, id);
+    }
+
+    /**
+     * Finds the current position of the targeted task.
+     *
+     * @param tasks The list holding the task.
+     * @return The zero-based index of the task.
+     * @throws HowlyException If no task in the list has the id.
+     */
+    int resolve(TaskList tasks) throws HowlyException {
+        if (id == 0) {
+            return index;
+        }
+        int position = tasks.indexOf(id);
+        if (position < 0) {
+            throw new HowlyException("There is no task with id #" + id + ".");
+        }
+        return position;
+    }
+}
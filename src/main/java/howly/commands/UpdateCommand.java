@@ -3,14 +3,14 @@ package howly.commands;
 import howly.common.HowlyException;
 import howly.common.TaskList;
 import howly.storage.Storage;
-import howly.tasks.Task;
+import howly.tasks.DescriptionPool;
 import howly.ui.Ui;
 
 /**
  * Command to update the description of an existing task, given specified index of task.
  */
 public class UpdateCommand extends Command {
-    private final int index;
+    private final TaskTarget target;
     private final String newDescription;
 
     /**
@@ -20,29 +20,41 @@ public class UpdateCommand extends Command {
      * @param newDescription The new textual description to be assigned to the task.
      */
     public UpdateCommand(int index, String newDescription) {
-        this.index = index;
+        this(TaskTarget.ofIndex(index), newDescription);
+    }
+
+    /**
+     * Constructs an {@code UpdateCommand} for the given task and new description.
+     *
+     * @param target The task to be updated, by position or by id.
+     * @param newDescription The new textual description to be assigned to the task.
+     */
+    public UpdateCommand(TaskTarget target, String newDescription) {
+        this.target = target;
         this.newDescription = newDescription;
     }
+
     /**
      * Executes the update command by replacing the description of the task at the given index.
-     * The changes are immediately persisted to the storage file.
+     * The new description is shared through the {@link DescriptionPool}, and the change is immediately
+     * persisted to the storage file.
      *
      * @param tasks The {@code TaskList} containing the tasks to be updated.
      * @param ui The {@code Ui} used for user interaction.
      * @param storage The {@code Storage} used for task persistence.
      * @return A confirmation message showing the transition from the old to the new description.
-     * @throws HowlyException If the provided index is out of bounds for the current task list.
+     * @throws HowlyException If the index is out of bounds or no task has the given id.
      */
     @Override
     public String execute(TaskList tasks, Ui ui, Storage storage) throws HowlyException {
+        int index = target.resolve(tasks);
         if (index < 0 || index >= tasks.size()) {
             throw new HowlyException("Task index out of bounds. Current list size: " + tasks.size());
         }
 
-        Task taskToUpdate = tasks.get(index);
-        String oldDescription = taskToUpdate.getDescription();
-        taskToUpdate.setDescription(newDescription);
-        storage.save(tasks.getTasks());
+        String oldDescription = tasks.get(index).getDescription();
+        tasks.update(index, DescriptionPool.shared().intern(newDescription));
+        storage.saveUpdate(tasks.getTasks(), index, newDescription);
         return "Got it. I've updated the description for this task:\n"
                 + "  From: " + oldDescription + "\n"
                 + "  To:   " + newDescription;
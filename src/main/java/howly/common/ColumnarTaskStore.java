@@ -0,0 +1,369 @@
+package howly.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import howly.tasks.Task;
+
+/**
+ * Packs tasks into parallel arrays of primitive values instead of keeping an object per task.
+ * <p>
+ * Each task is a row across the columns: a type byte, an id, a done bit, the epoch days of its dates
+ * and the position of its description in a shared byte arena. A description whose characters all fit
+ * in one byte takes one byte per character, as Java's own compact strings do, and any other takes two.
+ * A row costs about 25 bytes plus its description, against well over 100 for a task object with its
+ * string, dates and index entries. Removed and replaced descriptions are left in the arena as garbage
+ * until they make up half of it, when the live ones are copied into a fresh arena.
+ * </p>
+ * <p>
+ * Searches scan the columns, as described in {@link RowTaskStore}. Epoch days are stored as {@code int}s,
+ * which covers every year up to about 5.8 million.
+ * </p>
+ */
+class ColumnarTaskStore extends RowTaskStore {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MIN_ARENA_TO_COMPACT = 1 << 16;
+    /** Set in a row's type byte when its description is stored as two bytes per character. */
+    private static final byte WIDE = 0x10;
+    private static final byte KIND = 0x0F;
+
+    private byte[] types;
+    private long[] ids;
+    private long[] done;
+    private int[] fromDays;
+    private int[] toDays;
+    private int[] textStarts;
+    private int[] textLengths;
+    private byte[] arena;
+    private int arenaUsed;
+    private int arenaGarbage;
+    private int size;
+
+    /**
+     * Copies the given tasks, which must already have ascending ids, into columns.
+     *
+     * @param tasks The initial tasks.
+     */
+    ColumnarTaskStore(List<Task> tasks) {
+        int capacity = Math.max(INITIAL_CAPACITY, tasks.size());
+        types = new byte[capacity];
+        ids = new long[capacity];
+        done = new long[(capacity + 63) >>> 6];
+        fromDays = new int[capacity];
+        toDays = new int[capacity];
+        textStarts = new int[capacity];
+        textLengths = new int[capacity];
+        arena = new byte[Math.max(INITIAL_CAPACITY, tasks.size() * 16)];
+        for (Task task : tasks) {
+            insert(size, task);
+        }
+    }
+
+    /**
+     * Creates a store sharing the arena of another, for snapshots. The arena is only ever appended to or
+     * replaced, never overwritten, so the rows of the copy stay valid.
+     */
+    private ColumnarTaskStore(ColumnarTaskStore other) {
+        size = other.size;
+        types = Arrays.copyOf(other.types, size);
+        ids = Arrays.copyOf(other.ids, size);
+        done = Arrays.copyOf(other.done, (size + 63) >>> 6);
+        fromDays = Arrays.copyOf(other.fromDays, size);
+        toDays = Arrays.copyOf(other.toDays, size);
+        textStarts = Arrays.copyOf(other.textStarts, size);
+        textLengths = Arrays.copyOf(other.textLengths, size);
+        arena = other.arena;
+        arenaUsed = other.arenaUsed;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long idAt(int index) {
+        return ids[index];
+    }
+
+    @Override
+    public boolean isDone(int index) {
+        return (done[index >>> 6] & (1L << index)) != 0;
+    }
+
+    @Override
+    public void insert(int index, Task task) {
+        ensureCapacity(size + 1);
+        int tail = size - index;
+        System.arraycopy(types, index, types, index + 1, tail);
+        System.arraycopy(ids, index, ids, index + 1, tail);
+        System.arraycopy(fromDays, index, fromDays, index + 1, tail);
+        System.arraycopy(toDays, index, toDays, index + 1, tail);
+        System.arraycopy(textStarts, index, textStarts, index + 1, tail);
+        System.arraycopy(textLengths, index, textLengths, index + 1, tail);
+        insertBit(index);
+        size++;
+
+        types[index] = kindOf(task);
+        fromDays[index] = fromDayOf(task);
+        toDays[index] = toDayOf(task);
+        ids[index] = task.getId();
+        setBit(index, task.isDone());
+        writeText(index, task.getDescription());
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removed = get(index);
+        arenaGarbage += textBytes(index);
+        int tail = size - index - 1;
+        System.arraycopy(types, index + 1, types, index, tail);
+        System.arraycopy(ids, index + 1, ids, index, tail);
+        System.arraycopy(fromDays, index + 1, fromDays, index, tail);
+        System.arraycopy(toDays, index + 1, toDays, index, tail);
+        System.arraycopy(textStarts, index + 1, textStarts, index, tail);
+        System.arraycopy(textLengths, index + 1, textLengths, index, tail);
+        removeBit(index);
+        size--;
+        compactArenaIfSparse();
+        return removed;
+    }
+
+    @Override
+    public List<Task> removeAll(int[] indices) {
+        List<Task> removed = new ArrayList<>(indices.length);
+        if (indices.length == 0) {
+            return removed;
+        }
+        int write = indices[0];
+        int next = 0;
+        for (int read = indices[0]; read < size; read++) {
+            if (next < indices.length && indices[next] == read) {
+                assert next == 0 || indices[next - 1] < read : "Indices to delete must be strictly ascending";
+                next++;
+                removed.add(taskAt(read));
+                arenaGarbage += textBytes(read);
+            } else {
+                types[write] = types[read];
+                ids[write] = ids[read];
+                fromDays[write] = fromDays[read];
+                toDays[write] = toDays[read];
+                textStarts[write] = textStarts[read];
+                textLengths[write] = textLengths[read];
+                setBit(write, isDone(read));
+                write++;
+            }
+        }
+        for (int i = write; i < size; i++) {
+            setBit(i, false);
+        }
+        size = write;
+        compactArenaIfSparse();
+        return removed;
+    }
+
+    @Override
+    public Task setDone(int index, boolean isDone) {
+        Objects.checkIndex(index, size);
+        setBit(index, isDone);
+        return taskAt(index);
+    }
+
+    @Override
+    public Task setDescription(int index, String description) {
+        Objects.checkIndex(index, size);
+        arenaGarbage += textBytes(index);
+        writeText(index, description);
+        compactArenaIfSparse();
+        return taskAt(index);
+    }
+
+    @Override
+    public List<Task> snapshot() {
+        ColumnarTaskStore copy = new ColumnarTaskStore(this);
+        return new Rows(copy);
+    }
+
+    /**
+     * Copies the rows of another row store onto the heap as a read-only list, without building a task
+     * per row. Stores whose rows later changes overwrite, such as a mapped file, take their snapshots so.
+     *
+     * @param other The store to copy.
+     * @return The copy.
+     */
+    static List<Task> snapshotOf(RowTaskStore other) {
+        ColumnarTaskStore copy = new ColumnarTaskStore(List.of());
+        copy.ensureCapacity(other.size());
+        for (int i = 0; i < other.size(); i++) {
+            copy.types[i] = other.kindAt(i);
+            copy.ids[i] = other.idAt(i);
+            copy.setBit(i, other.isDone(i));
+            copy.fromDays[i] = other.fromDayAt(i);
+            copy.toDays[i] = other.toDayAt(i);
+            copy.writeText(i, other.textAt(i));
+        }
+        copy.size = other.size();
+        return new Rows(copy);
+    }
+
+    private boolean isWide(int index) {
+        return (types[index] & WIDE) != 0;
+    }
+
+    private int textBytes(int index) {
+        return isWide(index) ? textLengths[index] * 2 : textLengths[index];
+    }
+
+    @Override
+    byte kindAt(int index) {
+        return (byte) (types[index] & KIND);
+    }
+
+    @Override
+    int fromDayAt(int index) {
+        return fromDays[index];
+    }
+
+    @Override
+    int toDayAt(int index) {
+        return toDays[index];
+    }
+
+    @Override
+    int textLengthAt(int index) {
+        return textLengths[index];
+    }
+
+    @Override
+    char charAt(int index, int offset) {
+        int start = textStarts[index];
+        if (!isWide(index)) {
+            return (char) (arena[start + offset] & 0xFF);
+        }
+        int at = start + 2 * offset;
+        return (char) (((arena[at] & 0xFF) << 8) | (arena[at + 1] & 0xFF));
+    }
+
+    @Override
+    String textAt(int index) {
+        if (!isWide(index)) {
+            return new String(arena, textStarts[index], textLengths[index], StandardCharsets.ISO_8859_1);
+        }
+        return super.textAt(index);
+    }
+
+    /**
+     * Appends the description to the arena and points the row at it, keeping the row's type.
+     */
+    private void writeText(int index, String text) {
+        boolean isWide = isWide(text);
+        int bytes = isWide ? text.length() * 2 : text.length();
+        ensureArena(bytes);
+        int at = arenaUsed;
+        for (int k = 0; k < text.length(); k++) {
+            char c = text.charAt(k);
+            if (isWide) {
+                arena[at++] = (byte) (c >>> 8);
+            }
+            arena[at++] = (byte) c;
+        }
+        textStarts[index] = arenaUsed;
+        textLengths[index] = text.length();
+        types[index] = (byte) ((types[index] & KIND) | (isWide ? WIDE : 0));
+        arenaUsed = at;
+    }
+
+    private void insertBit(int index) {
+        int word = index >>> 6;
+        for (int i = size >>> 6; i > word; i--) {
+            done[i] = (done[i] << 1) | (done[i - 1] >>> 63);
+        }
+        long below = (1L << index) - 1;
+        done[word] = (done[word] & below) | ((done[word] & ~below) << 1);
+    }
+
+    private void removeBit(int index) {
+        int word = index >>> 6;
+        long below = (1L << index) - 1;
+        done[word] = (done[word] & below) | ((done[word] >>> 1) & ~below);
+        for (int i = word; i < (size - 1) >>> 6; i++) {
+            done[i] |= done[i + 1] << 63;
+            done[i + 1] >>>= 1;
+        }
+    }
+
+    private void setBit(int index, boolean isSet) {
+        if (isSet) {
+            done[index >>> 6] |= 1L << index;
+        } else {
+            done[index >>> 6] &= ~(1L << index);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= types.length) {
+            return;
+        }
+        int grown = Math.max(capacity, types.length * 2);
+        types = Arrays.copyOf(types, grown);
+        ids = Arrays.copyOf(ids, grown);
+        done = Arrays.copyOf(done, (grown + 63) >>> 6);
+        fromDays = Arrays.copyOf(fromDays, grown);
+        toDays = Arrays.copyOf(toDays, grown);
+        textStarts = Arrays.copyOf(textStarts, grown);
+        textLengths = Arrays.copyOf(textLengths, grown);
+    }
+
+    private void ensureArena(int bytes) {
+        if (arenaUsed + bytes > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arenaUsed + bytes, arena.length * 2));
+        }
+    }
+
+    /**
+     * Copies the live descriptions into a fresh arena once garbage makes up half of the current one.
+     * A fresh array is used, rather than compacting in place, because snapshots may share the old one.
+     */
+    private void compactArenaIfSparse() {
+        if (arenaUsed < MIN_ARENA_TO_COMPACT || arenaGarbage * 2 < arenaUsed) {
+            return;
+        }
+        byte[] compacted = new byte[Math.max(INITIAL_CAPACITY, (arenaUsed - arenaGarbage) * 2)];
+        int at = 0;
+        for (int i = 0; i < size; i++) {
+            int bytes = textBytes(i);
+            System.arraycopy(arena, textStarts[i], compacted, at, bytes);
+            textStarts[i] = at;
+            at += bytes;
+        }
+        arena = compacted;
+        arenaUsed = at;
+        arenaGarbage = 0;
+    }
+
+    /**
+     * A read-only list over the rows of a snapshot, building each task as it is read.
+     */
+    private static class Rows extends AbstractList<Task> implements RandomAccess {
+        private final ColumnarTaskStore rows;
+
+        Rows(ColumnarTaskStore rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public Task get(int index) {
+            return rows.get(index);
+        }
+
+        @Override
+        public int size() {
+            return rows.size;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package howly.common;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import howly.tasks.Deadline;
+import howly.tasks.Event;
+import howly.tasks.Task;
+
+/**
+ * Indexes the dates of {@code Deadline} and {@code Event} tasks so that the tasks occurring on a
+ * given day can be found without checking every task in the list.
+ * Deadlines are kept in a sorted map from epoch day to tasks, and events in an {@link IntervalTree}
+ * over their from/to range.
+ */
+class DateIndex {
+    private final TreeMap<Long, List<Task>> deadlines = new TreeMap<>();
+    private final IntervalTree<Task> events = new IntervalTree<>();
+
+    /**
+     * Indexes a task, if it has a date.
+     *
+     * @param task The task to index.
+     * @param key A key unique to the task within the list and ascending along it, such as its id, used to order
+     *     deadlines on the same day and to find the task again on removal.
+     */
+    void add(Task task, long key) {
+        if (task instanceof Deadline) {
+            List<Task> onDay = deadlines.computeIfAbsent(((Deadline) task).getBy().toEpochDay(),
+                    day -> new ArrayList<>(1));
+            // Keep list order on the day even when an undo puts back a task from the middle of the list
+            int at = onDay.size();
+            while (at > 0 && onDay.get(at - 1).getId() > key) {
+                at--;
+            }
+            onDay.add(at, task);
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            events.insert(event.getFrom().toEpochDay(), event.getTo().toEpochDay(), key, task);
+        }
+    }
+
+    /**
+     * Removes a task from the index, if it has a date.
+     *
+     * @param task The task to remove.
+     * @param key The key the task was added with.
+     */
+    void remove(Task task, long key) {
+        if (task instanceof Deadline) {
+            long day = ((Deadline) task).getBy().toEpochDay();
+            List<Task> onDay = deadlines.get(day);
+            if (onDay != null) {
+                onDay.removeIf(t -> t == task);
+                if (onDay.isEmpty()) {
+                    deadlines.remove(day);
+                }
+            }
+        } else if (task instanceof Event) {
+            events.remove(((Event) task).getFrom().toEpochDay(), key);
+        }
+    }
+
+    /**
+     * Returns every indexed task occurring on the given date, in no particular order.
+     *
+     * @param date The date to look up.
+     * @return The deadlines due on the date and the events spanning it.
+     */
+    List<Task> tasksOn(LocalDate date) {
+        long day = date.toEpochDay();
+        List<Task> matches = new ArrayList<>(deadlines.getOrDefault(day, List.of()));
+        events.stab(day, matches::add);
+        return matches;
+    }
+
+    /**
+     * Passes every indexed task occurring within the given range to the consumer, in chronological order.
+     * Deadlines are ordered by due date and events by start date, so an event that started before
+     * the range but is still running comes first. Tasks on the same date keep their list order,
+     * with deadlines before events.
+     *
+     * @param from The first date of the range.
+     * @param to The last date of the range.
+     * @param consumer Receives each matching task as soon as its position is known.
+     */
+    void forEachBetween(LocalDate from, LocalDate to, Consumer<Task> consumer) {
+        long first = from.toEpochDay();
+        long last = to.toEpochDay();
+        List<Task> overlapping = new ArrayList<>();
+        events.overlap(first, last, overlapping::add);
+
+        Iterator<Map.Entry<Long, List<Task>>> due = deadlines.subMap(first, true, last, true)
+                .entrySet().iterator();
+        Map.Entry<Long, List<Task>> nextDue = due.hasNext() ? due.next() : null;
+        for (Task event : overlapping) {
+            long start = ((Event) event).getFrom().toEpochDay();
+            while (nextDue != null && nextDue.getKey() <= start) {
+                nextDue.getValue().forEach(consumer);
+                nextDue = due.hasNext() ? due.next() : null;
+            }
+            consumer.accept(event);
+        }
+        while (nextDue != null) {
+            nextDue.getValue().forEach(consumer);
+            nextDue = due.hasNext() ? due.next() : null;
+        }
+    }
+}
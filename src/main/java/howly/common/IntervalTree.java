@@ -0,0 +1,196 @@
+package howly.common;
+
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Stores closed intervals of epoch days so that all intervals containing a day, or overlapping a range,
+ * can be found without looking at the others.
+ * <p>
+ * This is a treap ordered by interval start (ties broken by a caller-supplied unique key), where every
+ * node also records the largest interval end in its subtree. Subtrees whose largest end falls before the
+ * queried day are skipped, as are right subtrees once the start passes it.
+ * </p>
+ *
+ * @param <V> The type of value attached to each interval.
+ */
+class IntervalTree<V> {
+    private final Random priorities = new Random(0x486f776c);
+    private Node<V> root;
+    private int size;
+
+    /**
+     * Adds an interval.
+     *
+     * @param start The first day of the interval.
+     * @param end The last day of the interval, not before {@code start}.
+     * @param key A key unique among the intervals with the same start, used to find it again.
+     * @param value The value attached to the interval.
+     */
+    void insert(long start, long end, long key, V value) {
+        root = insert(root, new Node<>(start, end, key, value, priorities.nextInt()));
+        size++;
+    }
+
+    /**
+     * Removes the interval with the given start and key, if present.
+     *
+     * @param start The first day of the interval.
+     * @param key The key the interval was inserted with.
+     */
+    void remove(long start, long key) {
+        root = remove(root, start, key);
+    }
+
+    /**
+     * Passes the value of every interval that contains {@code day} to the consumer, in start order.
+     *
+     * @param day The day to look up.
+     * @param consumer Receives each matching value.
+     */
+    void stab(long day, Consumer<V> consumer) {
+        overlap(root, day, day, consumer);
+    }
+
+    /**
+     * Passes the value of every interval that overlaps {@code [from, to]} to the consumer, in start order.
+     *
+     * @param from The first day of the range.
+     * @param to The last day of the range.
+     * @param consumer Receives each matching value.
+     */
+    void overlap(long from, long to, Consumer<V> consumer) {
+        overlap(root, from, to, consumer);
+    }
+
+    /**
+     * @return The number of intervals in the tree.
+     */
+    int size() {
+        return size;
+    }
+
+    private static <V> void overlap(Node<V> node, long from, long to, Consumer<V> consumer) {
+        if (node == null || node.maxEnd < from) {
+            return;
+        }
+        overlap(node.left, from, to, consumer);
+        if (node.start > to) {
+            return;
+        }
+        if (node.end >= from) {
+            consumer.accept(node.value);
+        }
+        overlap(node.right, from, to, consumer);
+    }
+
+    private static <V> Node<V> insert(Node<V> node, Node<V> added) {
+        if (node == null) {
+            return added;
+        }
+        if (added.compareTo(node.start, node.key) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private Node<V> remove(Node<V> node, long start, long key) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = Node.compare(start, key, node.start, node.key);
+        if (cmp < 0) {
+            node.left = remove(node.left, start, key);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, start, key);
+        } else {
+            size--;
+            return merge(node.left, node.right);
+        }
+        node.update();
+        return node;
+    }
+
+    private static <V> Node<V> merge(Node<V> left, Node<V> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static <V> Node<V> rotateRight(Node<V> node) {
+        Node<V> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private static <V> Node<V> rotateLeft(Node<V> node) {
+        Node<V> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private static class Node<V> {
+        private final long start;
+        private final long end;
+        private final long key;
+        private final V value;
+        private final int priority;
+        private long maxEnd;
+        private Node<V> left;
+        private Node<V> right;
+
+        Node(long start, long end, long key, V value, int priority) {
+            this.start = start;
+            this.end = end;
+            this.key = key;
+            this.value = value;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        static int compare(long start, long key, long otherStart, long otherKey) {
+            int cmp = Long.compare(start, otherStart);
+            return cmp != 0 ? cmp : Long.compare(key, otherKey);
+        }
+
+        int compareTo(long otherStart, long otherKey) {
+            return compare(start, key, otherStart, otherKey);
+        }
+
+        void update() {
+            maxEnd = end;
+            if (left != null && left.maxEnd > maxEnd) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd > maxEnd) {
+                maxEnd = right.maxEnd;
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package howly.common;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import howly.tasks.Task;
+
+/**
+ * Indexes the words in each task's display text so that a keyword search only has to look at the
+ * tasks that could possibly contain the keyword.
+ * <p>
+ * The lowercased display text of each task is split into tokens of letters and digits, and every token
+ * maps to the tasks containing it. To keep substring semantics (e.g. "boo" matching "book"), the distinct
+ * tokens are themselves indexed by trigram, so the tokens containing a fragment of the keyword are found
+ * without scanning the whole vocabulary. The candidates still have to be checked against the full
+ * keyword, since a keyword can span several tokens.
+ * </p>
+ */
+class KeywordIndex {
+    private static final int GRAM = 3;
+
+    private final HashMap<String, Set<Task>> postings = new HashMap<>();
+    private final HashMap<Long, Set<String>> trigrams = new HashMap<>();
+
+    /**
+     * Indexes the current display text of a task.
+     *
+     * @param task The task to index.
+     */
+    void add(Task task) {
+        for (String token : tokenize(normalize(task))) {
+            postings.computeIfAbsent(token, k -> {
+                addToVocabulary(k);
+                return new HashSet<>(2);
+            }).add(task);
+        }
+    }
+
+    /**
+     * Removes a task from the index. Must be called before the task's display text changes.
+     *
+     * @param task The task to remove.
+     */
+    void remove(Task task) {
+        for (String token : tokenize(normalize(task))) {
+            Set<Task> posting = postings.get(token);
+            if (posting == null) {
+                continue;
+            }
+            posting.remove(task);
+            if (posting.isEmpty()) {
+                postings.remove(token);
+                removeFromVocabulary(token);
+            }
+        }
+    }
+
+    /**
+     * Returns the tasks whose display text may contain the keyword, or {@code null} if the keyword has
+     * no letters or digits to look up, in which case every task is a candidate.
+     *
+     * @param keyword The lowercased keyword.
+     * @return The candidate tasks, a superset of the actual matches.
+     */
+    Set<Task> candidates(String keyword) {
+        Set<Task> result = null;
+        for (String fragment : tokenize(keyword)) {
+            Set<Task> withFragment = new HashSet<>();
+            for (String token : tokensContaining(fragment)) {
+                withFragment.addAll(postings.get(token));
+            }
+            if (result == null || withFragment.size() < result.size()) {
+                if (result != null) {
+                    withFragment.retainAll(result);
+                }
+                result = withFragment;
+            } else {
+                result.retainAll(withFragment);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Lowercases the display text of a task the same way the find command does.
+     *
+     * @param task The task to render.
+     * @return The lowercased display text.
+     */
+    static String normalize(Task task) {
+        return task.toString().toLowerCase();
+    }
+
+    private Collection<String> tokensContaining(String fragment) {
+        if (fragment.length() < GRAM) {
+            List<String> matches = new ArrayList<>();
+            for (String token : postings.keySet()) {
+                if (token.contains(fragment)) {
+                    matches.add(token);
+                }
+            }
+            return matches;
+        }
+        Set<String> matches = null;
+        for (int i = 0; i + GRAM <= fragment.length(); i++) {
+            Set<String> withGram = trigrams.get(gram(fragment, i));
+            if (withGram == null) {
+                return List.of();
+            }
+            if (matches == null) {
+                matches = new HashSet<>(withGram);
+            } else {
+                matches.retainAll(withGram);
+            }
+        }
+        matches.removeIf(token -> !token.contains(fragment));
+        return matches;
+    }
+
+    private void addToVocabulary(String token) {
+        for (int i = 0; i + GRAM <= token.length(); i++) {
+            trigrams.computeIfAbsent(gram(token, i), k -> new HashSet<>(2)).add(token);
+        }
+    }
+
+    private void removeFromVocabulary(String token) {
+        for (int i = 0; i + GRAM <= token.length(); i++) {
+            Long key = gram(token, i);
+            Set<String> withGram = trigrams.get(key);
+            if (withGram != null) {
+                withGram.remove(token);
+                if (withGram.isEmpty()) {
+                    trigrams.remove(key);
+                }
+            }
+        }
+    }
+
+    private static long gram(String s, int at) {
+        return ((long) s.charAt(at) << 32) | ((long) s.charAt(at + 1) << 16) | s.charAt(at + 2);
+    }
+
+    private static Set<String> tokenize(String text) {
+        Set<String> tokens = new HashSet<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isWordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                tokens.add(text.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,523 @@
+package howly.common;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import howly.tasks.Task;
+
+/**
+ * Keeps the rows of the tasks in a memory-mapped file instead of on the Java heap.
+ * <p>
+ * The file starts with a 64-byte header, which also holds the id the next added task gets and the journal
+ * generation the file includes, followed by a fixed-width 32-byte row per task and then by a heap of
+ * descriptions. A row holds the id, the type and done flags, the epoch days of the dates and
+ * the length and heap offset of the description. Opening the file only reads the header, and a task is
+ * only decoded when it is read, so opening takes the same time whatever the number of tasks, and the
+ * garbage collector never sees the rows. Changes are written straight into the mapped pages;
+ * {@link #force()} waits for them to reach the disk, and the operating system writes them back on its own
+ * schedule otherwise.
+ * </p>
+ * <p>
+ * When the rows run out of room, the description heap is moved further along the file and the rows take
+ * over its old place. Replaced and removed descriptions are left in the heap as garbage until they make up
+ * half of it, when the live ones are slid down in place. Each part is mapped as one buffer, so each is
+ * limited to 2 GB: about 67 million tasks and 2 GB of descriptions.
+ * </p>
+ * <p>
+ * A change is not atomic on disk: if the process dies part way through one, the file can be left
+ * inconsistent. Since later changes overwrite the file, a snapshot copies every row and description onto
+ * the heap as columns, so it costs as much as the whole list. Readers that page through the list or stream
+ * it instead read rows in place, a page or chunk at a time under the list's shared lock.
+ * </p>
+ */
+class MappedTaskStore extends RowTaskStore {
+    /** "HOWLYMAP" in ASCII. */
+    private static final long MAGIC = 0x484F574C594D4150L;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int HEADER_VERSION = 8;
+    private static final int HEADER_COUNT = 12;
+    private static final int HEADER_ROW_CAPACITY = 16;
+    private static final int HEADER_HEAP_USED = 20;
+    private static final int HEADER_HEAP_GARBAGE = 24;
+    private static final int HEADER_HEAP_CAPACITY = 28;
+    /** Zero in files written before it was added, which then fall back to the last id. */
+    private static final int HEADER_NEXT_ID = 32;
+    /** Zero in files written before it was added, as for any file that was never journaled. */
+    private static final int HEADER_GENERATION = 40;
+    private static final int ROW_BYTES = 32;
+    private static final int ROW_FLAGS = 8;
+    private static final int ROW_DONE = 9;
+    private static final int ROW_FROM = 12;
+    private static final int ROW_TO = 16;
+    private static final int ROW_TEXT_LENGTH = 20;
+    private static final int ROW_TEXT_OFFSET = 24;
+    private static final int MAX_REGION = Integer.MAX_VALUE;
+    private static final int INITIAL_ROWS = 1024;
+    private static final int INITIAL_HEAP = 1 << 16;
+    private static final int MIN_HEAP_TO_COMPACT = 1 << 16;
+    private static final int COPY_CHUNK = 1 << 16;
+    /** Set in a row's flags when its description is stored as two bytes per character. */
+    private static final byte WIDE = 0x10;
+    private static final byte KIND = 0x0F;
+
+    private final Path file;
+    private final boolean isReadOnly;
+    private MappedByteBuffer rows;
+    private MappedByteBuffer heap;
+    private int size;
+    private int rowCapacity;
+    private int heapUsed;
+    private int heapGarbage;
+    private int heapCapacity;
+    private long nextId;
+    private long generation;
+
+    private MappedTaskStore(Path file, boolean isReadOnly) {
+        this.file = file;
+        this.isReadOnly = isReadOnly;
+    }
+
+    /**
+     * Opens a mapped task file, or creates an empty one if the file is missing or empty.
+     * Only the header is read.
+     *
+     * @param file The file to open.
+     * @return The store backed by the file.
+     * @throws IOException If the file cannot be mapped or is not a mapped task file.
+     */
+    static MappedTaskStore open(Path file) throws IOException {
+        if (Files.notExists(file) || Files.size(file) == 0) {
+            return create(file, List.of(), 0, 0);
+        }
+        return read(file, false);
+    }
+
+    /**
+     * Opens an existing mapped task file without write access, for copying its tasks out. Any change to
+     * the store throws {@link ReadOnlyBufferException}.
+     *
+     * @param file The file to open.
+     * @return The store backed by the file.
+     * @throws IOException If the file cannot be mapped or is not a mapped task file.
+     */
+    static MappedTaskStore openReadOnly(Path file) throws IOException {
+        return read(file, true);
+    }
+
+    private static MappedTaskStore read(Path file, boolean isReadOnly) throws IOException {
+        MappedTaskStore store = new MappedTaskStore(file, isReadOnly);
+        StandardOpenOption[] options = isReadOnly
+                ? new StandardOpenOption[] {StandardOpenOption.READ}
+                : new StandardOpenOption[] {StandardOpenOption.READ, StandardOpenOption.WRITE};
+        try (FileChannel channel = FileChannel.open(file, options)) {
+            long length = channel.size();
+            if (length < HEADER_BYTES) {
+                throw new IOException("Not a mapped task file: " + file);
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            if (header.getLong(0) != MAGIC || header.getInt(HEADER_VERSION) != VERSION) {
+                throw new IOException("Not a mapped task file: " + file);
+            }
+            store.size = header.getInt(HEADER_COUNT);
+            store.rowCapacity = header.getInt(HEADER_ROW_CAPACITY);
+            store.heapUsed = header.getInt(HEADER_HEAP_USED);
+            store.heapGarbage = header.getInt(HEADER_HEAP_GARBAGE);
+            store.heapCapacity = header.getInt(HEADER_HEAP_CAPACITY);
+            store.nextId = header.getLong(HEADER_NEXT_ID);
+            store.generation = header.getLong(HEADER_GENERATION);
+            boolean isValid = store.size >= 0 && store.size <= store.rowCapacity
+                    && rowsEnd(store.rowCapacity) <= MAX_REGION
+                    && store.heapGarbage >= 0 && store.heapGarbage <= store.heapUsed
+                    && store.heapUsed <= store.heapCapacity
+                    && rowsEnd(store.rowCapacity) + store.heapCapacity <= length;
+            if (!isValid) {
+                throw new IOException("Damaged mapped task file: " + file);
+            }
+            store.map(channel);
+        }
+        return store;
+    }
+
+    /**
+     * Replaces the contents of a file with the given tasks, which must already have ascending ids.
+     *
+     * @param file The file to write, created if missing.
+     * @param tasks The initial tasks.
+     * @param nextId The id the next added task gets, if higher than one past the last task's.
+     * @param generation The journal generation the tasks include, or 0 if they are not journaled.
+     * @return The store backed by the file.
+     * @throws IOException If the file cannot be created or mapped.
+     */
+    static MappedTaskStore create(Path file, List<Task> tasks, long nextId, long generation) throws IOException {
+        MappedTaskStore store = new MappedTaskStore(file, false);
+        store.nextId = nextId;
+        store.generation = generation;
+        store.rowCapacity = Math.max(INITIAL_ROWS, tasks.size());
+        store.heapCapacity = (int) Math.min(MAX_REGION, Math.max(INITIAL_HEAP, tasks.size() * 16L));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            store.map(channel);
+        }
+        store.rows.putLong(0, MAGIC);
+        store.rows.putInt(HEADER_VERSION, VERSION);
+        store.writeHeader();
+        for (Task task : tasks) {
+            store.insert(store.size, task);
+        }
+        return store;
+    }
+
+    /**
+     * @param file An existing file.
+     * @return Whether the file starts like a mapped task file.
+     * @throws IOException If the file cannot be read.
+     */
+    static boolean isMapped(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(Long.BYTES);
+            int read = 0;
+            while (read >= 0 && magic.hasRemaining()) {
+                read = channel.read(magic, magic.position());
+            }
+            return !magic.hasRemaining() && magic.getLong(0) == MAGIC;
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long nextId() {
+        return nextId;
+    }
+
+    @Override
+    public long generation() {
+        return generation;
+    }
+
+    @Override
+    public long idAt(int index) {
+        return rows.getLong(rowAt(index));
+    }
+
+    @Override
+    public boolean isDone(int index) {
+        return rows.get(rowAt(index) + ROW_DONE) != 0;
+    }
+
+    /**
+     * @throws UncheckedIOException If the file cannot be grown to fit the task.
+     */
+    @Override
+    public void insert(int index, Task task) {
+        ensureRows(size + 1);
+        copy(rows, rowAt(index), rows, rowAt(index + 1), (size - index) * ROW_BYTES, true);
+        int row = rowAt(index);
+        rows.putLong(row, task.getId());
+        rows.put(row + ROW_FLAGS, kindOf(task));
+        rows.put(row + ROW_DONE, (byte) (task.isDone() ? 1 : 0));
+        rows.putInt(row + ROW_FROM, fromDayOf(task));
+        rows.putInt(row + ROW_TO, toDayOf(task));
+        rows.putInt(row + ROW_TEXT_LENGTH, 0);
+        rows.putInt(row + ROW_TEXT_OFFSET, 0);
+        size++;
+        nextId = Math.max(nextId, task.getId() + 1);
+        writeText(index, task.getDescription());
+        writeHeader();
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removed = get(index);
+        heapGarbage += textBytes(index);
+        copy(rows, rowAt(index + 1), rows, rowAt(index), (size - index - 1) * ROW_BYTES, false);
+        size--;
+        writeHeader();
+        compactHeapIfSparse();
+        return removed;
+    }
+
+    /**
+     * Slides each run of rows between two removed ones down in a single copy.
+     */
+    @Override
+    public List<Task> removeAll(int[] indices) {
+        List<Task> removed = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            removed.add(get(index));
+            heapGarbage += textBytes(index);
+        }
+        for (int k = 0; k < indices.length; k++) {
+            assert k == 0 || indices[k - 1] < indices[k] : "Indices to delete must be strictly ascending";
+            int runStart = indices[k] + 1;
+            int runEnd = k + 1 < indices.length ? indices[k + 1] : size;
+            copy(rows, rowAt(runStart), rows, rowAt(runStart - k - 1), (runEnd - runStart) * ROW_BYTES, false);
+        }
+        size -= indices.length;
+        writeHeader();
+        compactHeapIfSparse();
+        return removed;
+    }
+
+    @Override
+    public Task setDone(int index, boolean isDone) {
+        Objects.checkIndex(index, size);
+        rows.put(rowAt(index) + ROW_DONE, (byte) (isDone ? 1 : 0));
+        return taskAt(index);
+    }
+
+    /**
+     * @throws UncheckedIOException If the file cannot be grown to fit the description.
+     */
+    @Override
+    public Task setDescription(int index, String description) {
+        Objects.checkIndex(index, size);
+        heapGarbage += textBytes(index);
+        writeText(index, description);
+        writeHeader();
+        compactHeapIfSparse();
+        return taskAt(index);
+    }
+
+    @Override
+    public List<Task> snapshot() {
+        return ColumnarTaskStore.snapshotOf(this);
+    }
+
+    @Override
+    public void force() {
+        rows.force();
+        heap.force();
+    }
+
+    @Override
+    byte kindAt(int index) {
+        return (byte) (rows.get(rowAt(index) + ROW_FLAGS) & KIND);
+    }
+
+    @Override
+    int fromDayAt(int index) {
+        return rows.getInt(rowAt(index) + ROW_FROM);
+    }
+
+    @Override
+    int toDayAt(int index) {
+        return rows.getInt(rowAt(index) + ROW_TO);
+    }
+
+    @Override
+    int textLengthAt(int index) {
+        return rows.getInt(rowAt(index) + ROW_TEXT_LENGTH);
+    }
+
+    @Override
+    char charAt(int index, int offset) {
+        int start = textOffsetAt(index);
+        if (isWide(index)) {
+            return heap.getChar(start + 2 * offset);
+        }
+        return (char) (heap.get(start + offset) & 0xFF);
+    }
+
+    @Override
+    String textAt(int index) {
+        if (isWide(index)) {
+            return super.textAt(index);
+        }
+        byte[] bytes = new byte[textLengthAt(index)];
+        heap.get(textOffsetAt(index), bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    private static long rowsEnd(int rowCapacity) {
+        return HEADER_BYTES + (long) rowCapacity * ROW_BYTES;
+    }
+
+    private static int rowAt(int index) {
+        return HEADER_BYTES + index * ROW_BYTES;
+    }
+
+    private boolean isWide(int index) {
+        return (rows.get(rowAt(index) + ROW_FLAGS) & WIDE) != 0;
+    }
+
+    private int textOffsetAt(int index) {
+        return rows.getInt(rowAt(index) + ROW_TEXT_OFFSET);
+    }
+
+    private int textBytes(int index) {
+        return isWide(index) ? textLengthAt(index) * 2 : textLengthAt(index);
+    }
+
+    /**
+     * Appends the description to the heap and points the row at it, keeping the row's type.
+     */
+    private void writeText(int index, String text) {
+        boolean isWide = isWide(text);
+        int bytes = isWide ? text.length() * 2 : text.length();
+        ensureHeap(bytes);
+        int at = heapUsed;
+        if (isWide) {
+            for (int k = 0; k < text.length(); k++) {
+                heap.putChar(at + 2 * k, text.charAt(k));
+            }
+        } else {
+            heap.put(at, text.getBytes(StandardCharsets.ISO_8859_1));
+        }
+        int row = rowAt(index);
+        rows.putInt(row + ROW_TEXT_LENGTH, text.length());
+        rows.putInt(row + ROW_TEXT_OFFSET, at);
+        rows.put(row + ROW_FLAGS, (byte) ((rows.get(row + ROW_FLAGS) & KIND) | (isWide ? WIDE : 0)));
+        heapUsed += bytes;
+    }
+
+    private void writeHeader() {
+        rows.putInt(HEADER_COUNT, size);
+        rows.putInt(HEADER_ROW_CAPACITY, rowCapacity);
+        rows.putInt(HEADER_HEAP_USED, heapUsed);
+        rows.putInt(HEADER_HEAP_GARBAGE, heapGarbage);
+        rows.putInt(HEADER_HEAP_CAPACITY, heapCapacity);
+        rows.putLong(HEADER_NEXT_ID, nextId);
+        rows.putLong(HEADER_GENERATION, generation);
+    }
+
+    /**
+     * Doubles the room for rows by moving the description heap further along the file.
+     */
+    private void ensureRows(int needed) {
+        if (needed <= rowCapacity) {
+            return;
+        }
+        checkWritable();
+        long grown = Math.min(Math.max(needed, rowCapacity * 2L), (MAX_REGION - HEADER_BYTES) / ROW_BYTES);
+        if (grown < needed) {
+            throw new IllegalStateException("Too many tasks for one mapped file");
+        }
+        MappedByteBuffer oldHeap = heap;
+        rowCapacity = (int) grown;
+        remap();
+        // The new heap starts later in the file than the old one, so copy from the end to not overwrite it
+        copy(oldHeap, 0, heap, 0, heapUsed, true);
+        writeHeader();
+    }
+
+    /**
+     * Makes room for a description, first by compacting the heap if it is mostly garbage and then by
+     * doubling it.
+     */
+    private void ensureHeap(int bytes) {
+        if (heapUsed + (long) bytes <= heapCapacity) {
+            return;
+        }
+        checkWritable();
+        if (heapGarbage * 2L >= heapUsed) {
+            compactHeap();
+        }
+        long needed = heapUsed + (long) bytes;
+        if (needed <= heapCapacity) {
+            return;
+        }
+        long grown = Math.min(Math.max(needed, heapCapacity * 2L), MAX_REGION);
+        if (grown < needed) {
+            throw new IllegalStateException("Too much description text for one mapped file");
+        }
+        heapCapacity = (int) grown;
+        remap();
+        writeHeader();
+    }
+
+    /**
+     * Stops a read-only store before it grows its file; smaller changes fail on the read-only buffers.
+     */
+    private void checkWritable() {
+        if (isReadOnly) {
+            throw new ReadOnlyBufferException();
+        }
+    }
+
+    private void compactHeapIfSparse() {
+        if (heapUsed >= MIN_HEAP_TO_COMPACT && heapGarbage * 2L >= heapUsed) {
+            compactHeap();
+        }
+    }
+
+    /**
+     * Slides the live descriptions down to the start of the heap, in the order they are stored,
+     * so that each one only ever moves over garbage or over descriptions already moved.
+     */
+    private void compactHeap() {
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = ((long) textOffsetAt(i) << 32) | i;
+        }
+        Arrays.sort(keys);
+        int at = 0;
+        for (long key : keys) {
+            int index = (int) key;
+            int bytes = textBytes(index);
+            copy(heap, (int) (key >>> 32), heap, at, bytes, false);
+            rows.putInt(rowAt(index) + ROW_TEXT_OFFSET, at);
+            at += bytes;
+        }
+        heapUsed = at;
+        heapGarbage = 0;
+        writeHeader();
+    }
+
+    private void remap() {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            map(channel);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Maps the header and rows as one buffer and the heap as another, growing the file to fit them.
+     */
+    private void map(FileChannel channel) throws IOException {
+        long rowsEnd = rowsEnd(rowCapacity);
+        long length = rowsEnd + heapCapacity;
+        if (channel.size() < length) {
+            channel.write(ByteBuffer.allocate(1), length - 1);
+        }
+        FileChannel.MapMode mode = isReadOnly ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE;
+        rows = channel.map(mode, 0, rowsEnd);
+        heap = channel.map(mode, rowsEnd, heapCapacity);
+    }
+
+    /**
+     * Copies bytes through a small buffer, chunk by chunk, so that the source and target may overlap.
+     *
+     * @param isFromEnd Whether to copy the last chunk first, as needed when the target lies after the source.
+     */
+    private static void copy(ByteBuffer source, int from, ByteBuffer target, int to, int length,
+            boolean isFromEnd) {
+        if (length <= 0) {
+            return;
+        }
+        byte[] chunk = new byte[Math.min(length, COPY_CHUNK)];
+        for (int done = 0; done < length; done += chunk.length) {
+            int bytes = Math.min(chunk.length, length - done);
+            int offset = isFromEnd ? length - done - bytes : done;
+            source.get(from + offset, chunk, 0, bytes);
+            target.put(to + offset, chunk, 0, bytes);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package howly.common;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+import howly.tasks.Task;
+
+/**
+ * Keeps each task as its own object in an array list, the default store of a {@link TaskList}.
+ * <p>
+ * Alongside the list, it maintains an id map, a date index and a keyword index so that searches do not
+ * scan every task. Since ids ascend along the list, sorting index results by id puts them back into list
+ * order.
+ * </p>
+ */
+class ObjectTaskStore implements TaskStore {
+    private final ArrayList<Task> tasks;
+    private final TaskIdMap byId = new TaskIdMap();
+    private final DateIndex dateIndex = new DateIndex();
+    private final KeywordIndex keywordIndex = new KeywordIndex();
+
+    /**
+     * Holds and indexes the given tasks, which must already have ascending ids. The list is used as is.
+     *
+     * @param tasks The initial tasks.
+     */
+    ObjectTaskStore(ArrayList<Task> tasks) {
+        this.tasks = tasks;
+        tasks.forEach(this::index);
+    }
+
+    @Override
+    public int size() {
+        return tasks.size();
+    }
+
+    @Override
+    public Task get(int index) {
+        return tasks.get(index);
+    }
+
+    @Override
+    public long idAt(int index) {
+        return tasks.get(index).getId();
+    }
+
+    @Override
+    public boolean isDone(int index) {
+        return tasks.get(index).isDone();
+    }
+
+    @Override
+    public void insert(int index, Task task) {
+        tasks.add(index, task);
+        index(task);
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removed = tasks.remove(index);
+        unindex(removed);
+        return removed;
+    }
+
+    @Override
+    public List<Task> removeAll(int[] indices) {
+        List<Task> removed = new ArrayList<>(indices.length);
+        if (indices.length == 0) {
+            return removed;
+        }
+        int size = tasks.size();
+        int write = indices[0];
+        int next = 0;
+        for (int read = indices[0]; read < size; read++) {
+            Task t = tasks.get(read);
+            if (next < indices.length && indices[next] == read) {
+                assert next == 0 || indices[next - 1] < read : "Indices to delete must be strictly ascending";
+                next++;
+                removed.add(t);
+                unindex(t);
+            } else {
+                tasks.set(write++, t);
+            }
+        }
+        tasks.subList(write, size).clear();
+        return removed;
+    }
+
+    @Override
+    public Task setDone(int index, boolean isDone) {
+        Task task = tasks.get(index);
+        keywordIndex.remove(task);
+        if (isDone) {
+            task.markAsDone();
+        } else {
+            task.markAsNotDone();
+        }
+        keywordIndex.add(task);
+        return task;
+    }
+
+    @Override
+    public Task setDescription(int index, String description) {
+        Task task = tasks.get(index);
+        keywordIndex.remove(task);
+        task.setDescription(description);
+        keywordIndex.add(task);
+        return task;
+    }
+
+    @Override
+    public Task findById(long id) {
+        return byId.get(id);
+    }
+
+    @Override
+    public List<Task> tasksOn(LocalDate date) {
+        List<Task> matches = dateIndex.tasksOn(date);
+        matches.sort(Comparator.comparingLong(Task::getId));
+        return matches;
+    }
+
+    @Override
+    public void forEachBetween(LocalDate from, LocalDate to, Consumer<Task> consumer) {
+        dateIndex.forEachBetween(from, to, consumer);
+    }
+
+    /**
+     * Checks only the candidates from the keyword index against the keyword, or leaves the search to the
+     * caller when the index cannot narrow it.
+     */
+    @Override
+    public List<Task> findByKeyword(String needle) {
+        Collection<Task> candidates = keywordIndex.candidates(needle);
+        if (candidates == null) {
+            return null;
+        }
+        List<Task> matches = new ArrayList<>();
+        for (Task t : candidates) {
+            if (KeywordIndex.normalize(t).contains(needle)) {
+                matches.add(t);
+            }
+        }
+        matches.sort(Comparator.comparingLong(Task::getId));
+        return matches;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Task> snapshot() {
+        return (List<Task>) (List<?>) Arrays.asList(tasks.toArray());
+    }
+
+    private void index(Task t) {
+        byId.put(t);
+        dateIndex.add(t, t.getId());
+        keywordIndex.add(t);
+    }
+
+    private void unindex(Task t) {
+        byId.remove(t.getId());
+        dateIndex.remove(t, t.getId());
+        keywordIndex.remove(t);
+    }
+}
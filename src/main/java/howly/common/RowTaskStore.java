@@ -0,0 +1,258 @@
+package howly.common;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import howly.tasks.Deadline;
+import howly.tasks.Event;
+import howly.tasks.Task;
+import howly.tasks.ToDo;
+
+/**
+ * The searches and task building shared by the stores that keep each task as a row of primitive fields
+ * rather than as an object.
+ * <p>
+ * A row holds a kind, an id, a done flag, the epoch days of its dates (the due date twice for a deadline)
+ * and a description. Descriptions whose characters all fit in one byte are kept as one byte per character,
+ * as Java's own compact strings do, and any other as two bytes per character, high byte first.
+ * There are no indexes: date and keyword searches scan the rows, and build a {@code Task} only for each row
+ * they return. Every read of a row builds a fresh {@code Task}, so changing that object does not change
+ * the store.
+ * </p>
+ */
+abstract class RowTaskStore implements TaskStore {
+    static final byte TODO = 0;
+    static final byte DEADLINE = 1;
+    static final byte EVENT = 2;
+
+    /**
+     * @param index The zero-based index of the row.
+     * @return The kind of task in the row: {@link #TODO}, {@link #DEADLINE} or {@link #EVENT}.
+     */
+    abstract byte kindAt(int index);
+
+    /**
+     * @param index The zero-based index of the row.
+     * @return The epoch day of the due date or start date, or 0 for a todo.
+     */
+    abstract int fromDayAt(int index);
+
+    /**
+     * @param index The zero-based index of the row.
+     * @return The epoch day of the due date or end date, or 0 for a todo.
+     */
+    abstract int toDayAt(int index);
+
+    /**
+     * @param index The zero-based index of the row.
+     * @return The number of characters in the description.
+     */
+    abstract int textLengthAt(int index);
+
+    /**
+     * @param index The zero-based index of the row.
+     * @param offset The position of the character within the description.
+     * @return The character of the description.
+     */
+    abstract char charAt(int index, int offset);
+
+    /**
+     * Reads the description of a row. Stores that can copy the bytes out in bulk override this.
+     *
+     * @param index The zero-based index of the row.
+     * @return The description.
+     */
+    String textAt(int index) {
+        char[] chars = new char[textLengthAt(index)];
+        for (int k = 0; k < chars.length; k++) {
+            chars[k] = charAt(index, k);
+        }
+        return new String(chars);
+    }
+
+    @Override
+    public Task get(int index) {
+        Objects.checkIndex(index, size());
+        return taskAt(index);
+    }
+
+    @Override
+    public Task findById(long id) {
+        int low = 0;
+        int high = size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = idAt(mid);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return taskAt(mid);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public List<Task> tasksOn(LocalDate date) {
+        long day = date.toEpochDay();
+        List<Task> matches = new ArrayList<>();
+        for (int i = 0; i < size(); i++) {
+            if (kindAt(i) != TODO && fromDayAt(i) <= day && day <= toDayAt(i)) {
+                matches.add(taskAt(i));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Collects the matching rows as sort keys of date, then deadline before event, then position,
+     * so that one primitive sort puts them in order.
+     */
+    @Override
+    public void forEachBetween(LocalDate from, LocalDate to, Consumer<Task> consumer) {
+        long first = from.toEpochDay();
+        long last = to.toEpochDay();
+        long[] keys = new long[16];
+        int count = 0;
+        for (int i = 0; i < size(); i++) {
+            byte kind = kindAt(i);
+            if (kind != TODO && fromDayAt(i) <= last && toDayAt(i) >= first) {
+                if (count == keys.length) {
+                    keys = Arrays.copyOf(keys, count * 2);
+                }
+                long order = kind == DEADLINE ? 0 : 1L << 31;
+                keys[count++] = ((long) fromDayAt(i) << 32) | order | i;
+            }
+        }
+        Arrays.sort(keys, 0, count);
+        for (int k = 0; k < count; k++) {
+            consumer.accept(taskAt((int) (keys[k] & Integer.MAX_VALUE)));
+        }
+    }
+
+    /**
+     * Scans every row. A row whose description contains the keyword matches without further work;
+     * otherwise its display text is rebuilt into a reused buffer, with dates formatted once per day,
+     * in case the keyword matches the type, status or dates.
+     */
+    @Override
+    public List<Task> findByKeyword(String needle) {
+        List<Task> matches = new ArrayList<>();
+        StringBuilder line = new StringBuilder();
+        HashMap<Integer, String> dates = new HashMap<>();
+        for (int i = 0; i < size(); i++) {
+            if (descriptionContains(i, needle) || renderLowercase(i, line, dates).indexOf(needle) >= 0) {
+                matches.add(taskAt(i));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Builds a task from the row at the given index.
+     *
+     * @param index The zero-based index of the row.
+     * @return A new task holding the row's values.
+     */
+    Task taskAt(int index) {
+        String description = textAt(index);
+        Task task = switch (kindAt(index)) {
+        case DEADLINE -> new Deadline(description, LocalDate.ofEpochDay(fromDayAt(index)));
+        case EVENT -> new Event(description, LocalDate.ofEpochDay(fromDayAt(index)),
+                LocalDate.ofEpochDay(toDayAt(index)));
+        default -> new ToDo(description);
+        };
+        task.setId(idAt(index));
+        if (isDone(index)) {
+            task.markAsDone();
+        }
+        return task;
+    }
+
+    /**
+     * @param task The task to store.
+     * @return The kind of row the task is stored as.
+     */
+    static byte kindOf(Task task) {
+        return task instanceof Deadline ? DEADLINE : task instanceof Event ? EVENT : TODO;
+    }
+
+    /**
+     * @param task The task to store.
+     * @return The epoch day of its due date or start date, or 0 for a todo.
+     * @throws ArithmeticException If the date is too far from 1970 to fit in an {@code int}.
+     */
+    static int fromDayOf(Task task) {
+        if (task instanceof Deadline) {
+            return Math.toIntExact(((Deadline) task).getBy().toEpochDay());
+        }
+        return task instanceof Event ? Math.toIntExact(((Event) task).getFrom().toEpochDay()) : 0;
+    }
+
+    /**
+     * @param task The task to store.
+     * @return The epoch day of its due date or end date, or 0 for a todo.
+     * @throws ArithmeticException If the date is too far from 1970 to fit in an {@code int}.
+     */
+    static int toDayOf(Task task) {
+        return task instanceof Event ? Math.toIntExact(((Event) task).getTo().toEpochDay()) : fromDayOf(task);
+    }
+
+    /**
+     * @param text A description.
+     * @return Whether it needs two bytes per character.
+     */
+    static boolean isWide(String text) {
+        for (int k = 0; k < text.length(); k++) {
+            if (text.charAt(k) > 0xFF) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean descriptionContains(int index, String needle) {
+        int last = textLengthAt(index) - needle.length();
+        for (int start = 0; start <= last; start++) {
+            int k = 0;
+            while (k < needle.length() && Character.toLowerCase(charAt(index, start + k)) == needle.charAt(k)) {
+                k++;
+            }
+            if (k == needle.length()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Rebuilds the lowercased display text of a row the way {@code Task.toString()} renders it.
+     */
+    private StringBuilder renderLowercase(int index, StringBuilder line, HashMap<Integer, String> dates) {
+        byte kind = kindAt(index);
+        line.setLength(0);
+        line.append(kind == DEADLINE ? "[d]" : kind == EVENT ? "[e]" : "[t]")
+                .append(isDone(index) ? "[x] " : "[ ] ");
+        for (int k = 0; k < textLengthAt(index); k++) {
+            line.append(Character.toLowerCase(charAt(index, k)));
+        }
+        if (kind == DEADLINE) {
+            line.append(" (by: ").append(displayDate(fromDayAt(index), dates)).append(')');
+        } else if (kind == EVENT) {
+            line.append(" (from: ").append(displayDate(fromDayAt(index), dates))
+                    .append(" to: ").append(displayDate(toDayAt(index), dates)).append(')');
+        }
+        return line;
+    }
+
+    private static String displayDate(int day, HashMap<Integer, String> dates) {
+        return dates.computeIfAbsent(day, d -> LocalDate.ofEpochDay(d).format(Task.DISPLAY_DATE).toLowerCase());
+    }
+}
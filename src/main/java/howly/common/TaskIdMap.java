@@ -0,0 +1,116 @@
+package howly.common;
+
+import howly.tasks.Task;
+
+/**
+ * Maps task ids to tasks without boxing the ids.
+ * <p>
+ * This is an open-addressing hash table over parallel arrays of primitive ids and tasks, probed
+ * linearly. Since ids are always positive, an id of 0 marks an empty slot. The table is kept at most
+ * half full, and removals shift later entries of the same run back instead of leaving tombstones,
+ * so lookups stay short however many tasks have come and gone.
+ * </p>
+ */
+class TaskIdMap {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private Task[] tasks = new Task[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Adds a task under its id, replacing any task with the same id.
+     *
+     * @param task The task to add, with a positive id.
+     */
+    void put(Task task) {
+        assert task.getId() > 0 : "Only tasks with ids can be mapped";
+        if (2 * (size + 1) > ids.length) {
+            resize(ids.length * 2);
+        }
+        int slot = slotOf(task.getId());
+        if (ids[slot] == 0) {
+            size++;
+        }
+        ids[slot] = task.getId();
+        tasks[slot] = task;
+    }
+
+    /**
+     * @param id The id to look up.
+     * @return The task with the id, or {@code null} if there is none.
+     */
+    Task get(long id) {
+        return id <= 0 ? null : tasks[slotOf(id)];
+    }
+
+    /**
+     * Removes the task with the given id, if present.
+     *
+     * @param id The id of the task to remove.
+     */
+    void remove(long id) {
+        if (id <= 0) {
+            return;
+        }
+        int mask = ids.length - 1;
+        int slot = slotOf(id);
+        if (ids[slot] == 0) {
+            return;
+        }
+        size--;
+        // Move back any later entry of the run that would no longer be reachable past the hole
+        int hole = slot;
+        for (int next = (hole + 1) & mask; ids[next] != 0; next = (next + 1) & mask) {
+            int home = home(ids[next], mask);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                ids[hole] = ids[next];
+                tasks[hole] = tasks[next];
+                hole = next;
+            }
+        }
+        ids[hole] = 0;
+        tasks[hole] = null;
+    }
+
+    /**
+     * @return The number of tasks in the map.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Finds the slot holding the id, or the empty slot where it would go.
+     */
+    private int slotOf(long id) {
+        int mask = ids.length - 1;
+        int slot = home(id, mask);
+        while (ids[slot] != 0 && ids[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize(int capacity) {
+        long[] oldIds = ids;
+        Task[] oldTasks = tasks;
+        ids = new long[capacity];
+        tasks = new Task[capacity];
+        for (int i = 0; i < oldIds.length; i++) {
+            if (oldIds[i] != 0) {
+                int slot = slotOf(oldIds[i]);
+                ids[slot] = oldIds[i];
+                tasks[slot] = oldTasks[i];
+            }
+        }
+    }
+
+    /**
+     * Spreads consecutive ids across the table, since ids are handed out in sequence.
+     */
+    private static int home(long id, int mask) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
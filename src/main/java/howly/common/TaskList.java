@@ -1,21 +1,179 @@
 package howly.common;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import howly.tasks.Task;
 
 /**
  * Encapsulates the list of tasks and provides operations to manipulate the list.
+ * <p>
+ * The tasks themselves are held by a {@link TaskStore}. By default each task is its own object, indexed by
+ * date and keyword so that searches do not scan every task. Changes to a task must therefore go through
+ * this class so that the indexes stay in sync. A {@link #columnar(List) columnar} list instead packs the
+ * tasks into arrays of primitive values, for lists too large to keep one object per task, and a
+ * {@link #mapped(Path) mapped} list keeps them in a memory-mapped file, off the heap altogether.
+ * Each task is given an id in insertion order, which is saved with it and never changes. Ids are not reused,
+ * even after the task with the highest id is deleted, as long as the next id is saved too. Since tasks are
+ * only ever appended, ids ascend along the list, so sorting by id puts index results back into list order
+ * and a task's position can be found from its id by binary search.
+ * </p>
+ * <p>
+ * Changes can be grouped into a transaction, during which every change records how to undo itself,
+ * so that a failed group can be rolled back as a whole.
+ * Every change, including those made by a rollback, is also reported to the registered
+ * {@link TaskListListener}s.
+ * </p>
+ * <p>
+ * The list is safe to share between threads. Every change holds an exclusive lock, so changes take
+ * effect one at a time in a single order, and listeners hear of them in that order. Reading a single
+ * task or the size is an optimistic read that never blocks a writer, and searches hold a shared lock
+ * only while they walk an index. Listeners are called while the lock is held, so they must not call
+ * back into the list.
+ * </p>
  */
 public class TaskList {
-    private final ArrayList<Task> tasks;
+    private final TaskStore store;
+    private final StampedLock lock = new StampedLock();
+    private final List<Task> view = new View();
+    private long nextId;
+    private final ArrayList<TaskListListener> listeners = new ArrayList<>();
+    private ArrayDeque<Runnable> undoLog;
 
+    /**
+     * Creates a task list holding the given tasks, in order, and indexes them.
+     * Tasks without an id, or whose id does not follow the one before, are given the next free id.
+     *
+     * @param tasks The initial tasks, typically loaded from storage.
+     */
     public TaskList(ArrayList<Task> tasks) {
-        this.tasks = tasks;
+        this(tasks, 0);
+    }
+
+    /**
+     * Creates a task list holding the given tasks, as by {@link #TaskList(ArrayList)}, whose next added task
+     * gets the given id if that is past every task in the list. Storage passes the id it saved, so that
+     * the ids of tasks deleted from the end of the list are not given out again.
+     *
+     * @param tasks The initial tasks, typically loaded from storage.
+     * @param nextId The id the next added task gets, or 0 to follow the last task.
+     */
+    public TaskList(ArrayList<Task> tasks, long nextId) {
+        this(new ObjectTaskStore(numbered(tasks)), nextId);
     }
 
     public TaskList() {
-        this.tasks = new ArrayList<>();
+        this(new ObjectTaskStore(new ArrayList<>()), 0);
+    }
+
+    private TaskList(TaskStore store, long nextId) {
+        this.store = store;
+        this.nextId = Math.max(1, Math.max(nextId, store.nextId()));
+        if (store.size() > 0) {
+            this.nextId = Math.max(this.nextId, store.idAt(store.size() - 1) + 1);
+        }
+    }
+
+    /**
+     * Creates a task list that packs the given tasks into columns of primitive values, with every
+     * description in one shared byte arena, instead of keeping an object per task and per date.
+     * Tasks are numbered as by {@link #TaskList(ArrayList)}, and the given objects are not kept.
+     * <p>
+     * Reading a task builds a fresh {@code Task} from the columns, so changing that object does not change
+     * the list. Date and keyword searches scan the columns instead of keeping indexes, and only build
+     * objects for the tasks they return. This suits very large lists, where per-task objects and index
+     * entries would take most of the heap.
+     * </p>
+     *
+     * @param tasks The initial tasks, typically loaded from storage.
+     * @return The new task list.
+     */
+    public static TaskList columnar(List<Task> tasks) {
+        return new TaskList(new ColumnarTaskStore(numbered(tasks)), 0);
+    }
+
+    /**
+     * Opens a task list whose tasks live in a memory-mapped file, creating an empty one if the file is
+     * missing or empty.
+     * <p>
+     * Opening reads only the file's header, and each task is decoded from its fixed-width record when
+     * it is read, so opening is near-instant and the heap holds no per-task objects between reads.
+     * Changes are written straight into the file; {@link #force()} waits until they are on disk.
+     * Reads and searches behave as for a {@link #columnar(List) columnar} list.
+     * </p>
+     *
+     * @param file The mapped task file.
+     * @return The task list backed by the file.
+     * @throws IOException If the file cannot be mapped or is not a mapped task file.
+     */
+    public static TaskList mapped(Path file) throws IOException {
+        return new TaskList(MappedTaskStore.open(file), 0);
+    }
+
+    /**
+     * Writes the given tasks into a new mapped task file, replacing the file's contents, and opens it
+     * as by {@link #mapped(Path)}. Tasks are numbered as by {@link #TaskList(ArrayList)}.
+     *
+     * @param file The file to write.
+     * @param tasks The initial tasks.
+     * @return The task list backed by the file.
+     * @throws IOException If the file cannot be written.
+     */
+    public static TaskList mapped(Path file, List<Task> tasks) throws IOException {
+        return mapped(file, tasks, 0, 0);
+    }
+
+    /**
+     * Writes the given tasks into a new mapped task file as by {@link #mapped(Path, List)}, saving the given
+     * id as the one the next added task gets if that is past every task in the list, and the journal
+     * generation the tasks include, for {@link #getFileGeneration()}.
+     *
+     * @param file The file to write.
+     * @param tasks The initial tasks.
+     * @param nextId The id the next added task gets, or 0 to follow the last task.
+     * @param generation The journal generation the tasks include, or 0 if they are not journaled.
+     * @return The task list backed by the file.
+     * @throws IOException If the file cannot be written.
+     */
+    public static TaskList mapped(Path file, List<Task> tasks, long nextId, long generation) throws IOException {
+        return new TaskList(MappedTaskStore.create(file, numbered(tasks), nextId, generation), 0);
+    }
+
+    /**
+     * Opens an existing mapped task file as by {@link #mapped(Path)}, but without write access, so that
+     * its tasks can be copied out without any risk of changing the file. Any change to the list throws
+     * {@link java.nio.ReadOnlyBufferException}.
+     *
+     * @param file The mapped task file.
+     * @return The read-only task list backed by the file.
+     * @throws IOException If the file cannot be mapped or is not a mapped task file.
+     */
+    public static TaskList mappedReadOnly(Path file) throws IOException {
+        return new TaskList(MappedTaskStore.openReadOnly(file), 0);
+    }
+
+    /**
+     * Returns whether a file holds a mapped task list rather than another format.
+     *
+     * @param file An existing file.
+     * @return Whether the file starts like a mapped task file.
+     * @throws IOException If the file cannot be read.
+     */
+    public static boolean isMappedFile(Path file) throws IOException {
+        return MappedTaskStore.isMapped(file);
     }
 
     /**
@@ -23,7 +181,12 @@ public class TaskList {
      * @param t The task to be added to the task list.
      */
     public void add(Task t) {
-        tasks.add(t);
+        long stamp = lock.writeLock();
+        try {
+            append(t);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
 
     /**
@@ -32,9 +195,153 @@ public class TaskList {
      * @return The task that was removed from the list.
      */
     public Task delete(int index) {
-        assert index >= 0 : "Index to delete cannot be negative";
-        assert index < tasks.size() : "Index to delete is out of bounds";
-        return tasks.remove(index);
+        long stamp = lock.writeLock();
+        try {
+            return remove(index);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Marks the task at the specified index as done or not done.
+     *
+     * @param index The zero-based index of the task.
+     * @param isDone The new completion status.
+     * @return The updated task.
+     */
+    public Task mark(int index, boolean isDone) {
+        long stamp = lock.writeLock();
+        try {
+            return setDone(index, isDone);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Replaces the description of the task at the specified index.
+     *
+     * @param index The zero-based index of the task.
+     * @param description The new description.
+     * @return The updated task.
+     */
+    public Task update(int index, String description) {
+        long stamp = lock.writeLock();
+        try {
+            return rename(index, description);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Deletes the tasks at the specified indices in a single pass that moves each remaining task at most once,
+     * instead of shifting the rest of the list once per deleted task.
+     *
+     * @param indices The zero-based indices of the tasks to delete, strictly ascending and within the list.
+     * @return The tasks that were removed, in list order.
+     * @throws IndexOutOfBoundsException If an index is outside the list, before anything is deleted.
+     */
+    public List<Task> deleteAll(int[] indices) {
+        long stamp = lock.writeLock();
+        try {
+            return removeAll(indices);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Marks the tasks at the specified indices as done or not done, as one change.
+     *
+     * @param indices The zero-based indices of the tasks, strictly ascending and within the list.
+     * @param isDone The new completion status.
+     * @return The updated tasks, in list order.
+     * @throws IndexOutOfBoundsException If an index is outside the list, before anything is marked.
+     */
+    public List<Task> markAll(int[] indices, boolean isDone) {
+        long stamp = lock.writeLock();
+        try {
+            return setAllDone(indices, isDone);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns the indices of every task that satisfies the condition, read from one snapshot of the list.
+     *
+     * @param condition The condition to test each task with.
+     * @return The zero-based indices of the matching tasks, in ascending order.
+     */
+    public int[] indicesWhere(Predicate<Task> condition) {
+        List<Task> snapshot = snapshot();
+        int[] matches = new int[snapshot.size()];
+        int count = 0;
+        for (int i = 0; i < matches.length; i++) {
+            if (condition.test(snapshot.get(i))) {
+                matches[count++] = i;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    /**
+     * Registers a listener to be told about every later change to the list.
+     *
+     * @param listener The listener to register.
+     */
+    public void addListener(TaskListListener listener) {
+        long stamp = lock.writeLock();
+        try {
+            listeners.add(listener);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Starts recording every change so that they can be undone together by {@link #rollbackTransaction()}.
+     * The transaction covers every change made until it ends, whichever thread makes it.
+     */
+    public void beginTransaction() {
+        long stamp = lock.writeLock();
+        try {
+            assert undoLog == null : "Transactions cannot be nested";
+            undoLog = new ArrayDeque<>();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Keeps every change made since {@link #beginTransaction()} and stops recording.
+     */
+    public void commitTransaction() {
+        long stamp = lock.writeLock();
+        try {
+            undoLog = null;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Undoes every change made since {@link #beginTransaction()}, latest first, and stops recording.
+     * Other threads see the list either before the rollback or after all of it.
+     */
+    public void rollbackTransaction() {
+        long stamp = lock.writeLock();
+        try {
+            ArrayDeque<Runnable> log = undoLog;
+            undoLog = null;
+            while (!log.isEmpty()) {
+                log.pop().run();
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
 
     /**
@@ -43,20 +350,420 @@ public class TaskList {
      * @return The task at the given index.
      */
     public Task get(int index) {
-        return tasks.get(index);
+        long stamp = lock.tryOptimisticRead();
+        try {
+            Task task = store.get(index);
+            if (lock.validate(stamp)) {
+                return task;
+            }
+        } catch (RuntimeException e) {
+            // A columnar store can trip over a half-applied change; only a read that was not raced counts
+            if (lock.validate(stamp)) {
+                throw e;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return store.get(index);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the task with the given id.
+     *
+     * @param id The id of the task.
+     * @return The task, or {@code null} if no task in the list has the id.
+     */
+    public Task findById(long id) {
+        long stamp = lock.readLock();
+        try {
+            return store.findById(id);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the current position of the task with the given id, found by binary search over the ids.
+     *
+     * @param id The id of the task.
+     * @return The zero-based index of the task, or -1 if no task in the list has the id.
+     */
+    public int indexOf(long id) {
+        long stamp = lock.readLock();
+        try {
+            int index = firstIndexFrom(id);
+            return index < store.size() && store.idAt(index) == id ? index : -1;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the tasks occurring on the given date.
+     *
+     * @param date The date to search for.
+     * @return The matching tasks, in list order.
+     */
+    public List<Task> findOnDate(LocalDate date) {
+        long stamp = lock.readLock();
+        try {
+            return store.tasksOn(date);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Copies the tasks from one position up to another, as far as the list reaches, and returns the size
+     * of the list at that moment. Both are read under the shared lock, so a page of a large list and the
+     * number of pages agree without the rest of the list being copied, as {@link #getSnapshot()} would.
+     *
+     * @param from The position of the first task to copy.
+     * @param to The position after the last task to copy.
+     * @param into Receives the tasks, in list order.
+     * @return The number of tasks in the list when they were copied.
+     */
+    public int copyRange(int from, int to, List<? super Task> into) {
+        long stamp = lock.readLock();
+        try {
+            int size = store.size();
+            for (int i = Math.max(from, 0); i < Math.min(to, size); i++) {
+                into.add(store.get(i));
+            }
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns up to the given number of tasks, in list order, starting with the first task whose id is past
+     * the given one. The tasks are copied under the shared lock, which is released before this returns.
+     * <p>
+     * Passing the id of the last task of each chunk to fetch the next walks a large list a chunk at a time,
+     * holding the lock only while each chunk is copied and the memory of one chunk only. Since ids ascend
+     * along the list, a task that stays in the list throughout the walk is seen exactly once, even if other
+     * tasks are added or removed between chunks.
+     * </p>
+     *
+     * @param afterId The id of the last task already seen, or 0 to start at the beginning.
+     * @param limit The largest number of tasks to return.
+     * @return The tasks, or an empty list once the walk is past the end of the list.
+     */
+    public List<Task> getTasksAfter(long afterId, int limit) {
+        long stamp = lock.readLock();
+        try {
+            int from = firstIndexFrom(afterId + 1);
+            int to = (int) Math.min(store.size(), (long) from + limit);
+            List<Task> chunk = new ArrayList<>(Math.max(to - from, 0));
+            for (int i = from; i < to; i++) {
+                chunk.add(store.get(i));
+            }
+            return chunk;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Passes every task occurring between the given dates to the consumer, in chronological order,
+     * as the store finds them. The consumer runs under the shared lock and must not change the list.
+     *
+     * @param from The first date of the range, inclusive.
+     * @param to The last date of the range, inclusive.
+     * @param consumer Receives each matching task in turn.
+     */
+    public void forEachBetween(LocalDate from, LocalDate to, Consumer<Task> consumer) {
+        long stamp = lock.readLock();
+        try {
+            store.forEachBetween(from, to, consumer);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the tasks whose display text contains the keyword, ignoring case.
+     * Only the candidates from the keyword index are checked against the keyword, and a columnar list
+     * scans its columns. When the index cannot narrow the search, a snapshot of the list is scanned
+     * without holding the lock.
+     *
+     * @param keyword The text to search for.
+     * @return The matching tasks, in list order.
+     */
+    public List<Task> findByKeyword(String keyword) {
+        String needle = keyword.toLowerCase();
+        long stamp = lock.readLock();
+        try {
+            List<Task> matches = store.findByKeyword(needle);
+            if (matches != null) {
+                return matches;
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+
+        List<Task> matches = new ArrayList<>();
+        for (Task t : snapshot()) {
+            if (KeywordIndex.normalize(t).contains(needle)) {
+                matches.add(t);
+            }
+        }
+        return matches;
     }
 
     /**
      * @return The number of tasks in the task list.
      */
     public int size() {
-        return tasks.size();
+        long stamp = lock.tryOptimisticRead();
+        int size = store.size();
+        if (lock.validate(stamp)) {
+            return size;
+        }
+        stamp = lock.readLock();
+        try {
+            return store.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return The journal generation saved in the mapped file behind the list, or 0 for other lists.
+     */
+    public long getFileGeneration() {
+        return store.generation();
     }
 
     /**
+     * @return The id the next added task gets, which is past the id of every task ever in the list.
+     */
+    public long getNextId() {
+        long stamp = lock.readLock();
+        try {
+            return nextId;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Waits until every change so far is durably written to the list's file. Lists not backed by a file
+     * return at once.
+     */
+    public void force() {
+        long stamp = lock.readLock();
+        try {
+            store.force();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns a read-only view of the tasks. Reading a single task or the size reads the live list,
+     * while iterating, copying or streaming the view works on a consistent snapshot of it.
+     *
      * @return The list of tasks in the task list.
      */
-    public ArrayList<Task> getTasks() {
+    public List<Task> getTasks() {
+        return view;
+    }
+
+    /**
+     * Returns a read-only copy of the list as it is now, unaffected by later changes, so that its size and
+     * every task in it come from the same moment. A columnar or mapped list copies its rows rather than
+     * building a task per row, and builds each task only as it is read from the copy, but the copy still
+     * grows with the list and, for a mapped list, holds every description on the heap. To read part of a
+     * large list, or to stream it, use {@link #copyRange} or {@link #getTasksAfter} instead.
+     *
+     * @return The copy of the list.
+     */
+    public List<Task> getSnapshot() {
+        return snapshot();
+    }
+
+    /**
+     * Copies the list, first optimistically and then, if a change raced the copy, under the shared lock.
+     */
+    private List<Task> snapshot() {
+        long stamp = lock.tryOptimisticRead();
+        try {
+            List<Task> copy = store.snapshot();
+            if (lock.validate(stamp)) {
+                return copy;
+            }
+        } catch (RuntimeException e) {
+            // A change raced the copy; copy again under the lock
+        }
+        stamp = lock.readLock();
+        try {
+            return store.snapshot();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Finds the position of the first task whose id is at least the given one by binary search over the ids,
+     * which ascend along the list. Must be called under the lock.
+     *
+     * @return The position, or the size of the list if every id is below the given one.
+     */
+    private int firstIndexFrom(long id) {
+        int low = 0;
+        int high = store.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (store.idAt(mid) < id) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void append(Task t) {
+        t.setId(nextId++);
+        int index = store.size();
+        store.insert(index, t);
+        logUndo(() -> remove(index));
+        listeners.forEach(l -> l.taskAdded(index, t));
+    }
+
+    private Task remove(int index) {
+        assert index >= 0 : "Index to delete cannot be negative";
+        assert index < store.size() : "Index to delete is out of bounds";
+        Task removed = store.remove(index);
+        logUndo(() -> restore(index, removed));
+        listeners.forEach(l -> l.taskRemoved(index, removed));
+        return removed;
+    }
+
+    private List<Task> removeAll(int[] indices) {
+        if (indices.length == 0) {
+            return new ArrayList<>();
+        }
+        Objects.checkIndex(indices[0], store.size());
+        Objects.checkIndex(indices[indices.length - 1], store.size());
+        List<Task> removed = store.removeAll(indices);
+        logUndo(() -> {
+            for (int i = 0; i < indices.length; i++) {
+                store.insert(indices[i], removed.get(i));
+            }
+            listeners.forEach(l -> {
+                for (int i = 0; i < indices.length; i++) {
+                    l.taskAdded(indices[i], removed.get(i));
+                }
+            });
+        });
+        listeners.forEach(l -> l.tasksRemoved(indices, removed));
+        return removed;
+    }
+
+    private List<Task> setAllDone(int[] indices, boolean isDone) {
+        List<Task> changed = new ArrayList<>(indices.length);
+        boolean[] wasDone = new boolean[indices.length];
+        if (indices.length > 0) {
+            Objects.checkIndex(indices[0], store.size());
+            Objects.checkIndex(indices[indices.length - 1], store.size());
+        }
+        for (int i = 0; i < indices.length; i++) {
+            wasDone[i] = store.isDone(indices[i]);
+            changed.add(store.setDone(indices[i], isDone));
+        }
+        logUndo(() -> {
+            for (int i = 0; i < indices.length; i++) {
+                setDone(indices[i], wasDone[i]);
+            }
+        });
+        listeners.forEach(l -> l.tasksChanged(indices, changed));
+        return changed;
+    }
+
+    private Task setDone(int index, boolean isDone) {
+        boolean wasDone = store.isDone(index);
+        Task task = store.setDone(index, isDone);
+        logUndo(() -> setDone(index, wasDone));
+        listeners.forEach(l -> l.taskChanged(index, task));
+        return task;
+    }
+
+    private Task rename(int index, String description) {
+        String oldDescription = store.get(index).getDescription();
+        Task task = store.setDescription(index, description);
+        logUndo(() -> rename(index, oldDescription));
+        listeners.forEach(l -> l.taskChanged(index, task));
+        return task;
+    }
+
+    private void logUndo(Runnable undo) {
+        if (undoLog != null) {
+            undoLog.push(undo);
+        }
+    }
+
+    /**
+     * Puts a deleted task back at its old position under its old id. Ids stay in list order
+     * because deletions are undone in reverse.
+     */
+    private void restore(int index, Task task) {
+        store.insert(index, task);
+        listeners.forEach(l -> l.taskAdded(index, task));
+    }
+
+    /**
+     * Gives each task without an id, or whose id does not follow the one before, the next free id.
+     */
+    private static <T extends List<Task>> T numbered(T tasks) {
+        long nextId = 1;
+        for (Task t : tasks) {
+            if (t.getId() < nextId) {
+                t.setId(nextId);
+            }
+            nextId = t.getId() + 1;
+        }
         return tasks;
     }
+
+    /**
+     * The read-only view returned by {@link #getTasks()}. Bulk reads go through {@link #snapshot()}
+     * so that they never see a half-applied change.
+     */
+    private class View extends AbstractList<Task> implements RandomAccess {
+        @Override
+        public Task get(int index) {
+            return TaskList.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return TaskList.this.size();
+        }
+
+        @Override
+        public Object[] toArray() {
+            return snapshot().toArray();
+        }
+
+        @Override
+        public Iterator<Task> iterator() {
+            return snapshot().iterator();
+        }
+
+        @Override
+        public void forEach(Consumer<? super Task> action) {
+            snapshot().forEach(action);
+        }
+
+        @Override
+        public Spliterator<Task> spliterator() {
+            return snapshot().spliterator();
+        }
+    }
 }
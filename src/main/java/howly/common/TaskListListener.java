@@ -0,0 +1,62 @@
+package howly.common;
+
+import java.util.List;
+
+import howly.tasks.Task;
+
+/**
+ * Receives every change made to a {@link TaskList}, on the thread that made it, right after it is made.
+ * This lets views of the list update only what changed instead of reloading the whole list.
+ */
+public interface TaskListListener {
+    /**
+     * Called after a task is inserted into the list, usually at the end.
+     *
+     * @param index The zero-based index the task now has.
+     * @param task The task that was inserted.
+     */
+    void taskAdded(int index, Task task);
+
+    /**
+     * Called after a task is removed from the list.
+     *
+     * @param index The zero-based index the task had.
+     * @param task The task that was removed.
+     */
+    void taskRemoved(int index, Task task);
+
+    /**
+     * Called after a task is marked, unmarked or given a new description.
+     *
+     * @param index The zero-based index of the task.
+     * @param task The task that changed.
+     */
+    void taskChanged(int index, Task task);
+
+    /**
+     * Called once after several tasks are removed together, instead of once per task.
+     * By default, each removal is reported in turn, from the last index to the first,
+     * so that every index is still valid when it is reported.
+     *
+     * @param indices The zero-based indices the tasks had, in ascending order.
+     * @param tasks The tasks that were removed, in the same order.
+     */
+    default void tasksRemoved(int[] indices, List<Task> tasks) {
+        for (int i = indices.length - 1; i >= 0; i--) {
+            taskRemoved(indices[i], tasks.get(i));
+        }
+    }
+
+    /**
+     * Called once after several tasks are marked or unmarked together, instead of once per task.
+     * By default, each change is reported in turn.
+     *
+     * @param indices The zero-based indices of the tasks, in ascending order.
+     * @param tasks The tasks that changed, in the same order.
+     */
+    default void tasksChanged(int[] indices, List<Task> tasks) {
+        for (int i = 0; i < indices.length; i++) {
+            taskChanged(indices[i], tasks.get(i));
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package howly.common;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+import howly.tasks.Task;
+
+/**
+ * Holds the tasks of a {@link TaskList} and answers its searches.
+ * <p>
+ * The task list decides what changes and when: it assigns ids, takes its lock, records undo steps and
+ * notifies listeners, and then calls the store to apply the change. A store is therefore never called by
+ * two threads at once for a change, but searches may run on several threads together.
+ * Ids always ascend along the list.
+ * </p>
+ */
+interface TaskStore {
+    /**
+     * @return The number of tasks held.
+     */
+    int size();
+
+    /**
+     * @param index The zero-based index of the task.
+     * @return The task at the index.
+     * @throws IndexOutOfBoundsException If the index is outside the list.
+     */
+    Task get(int index);
+
+    /**
+     * @param index The zero-based index of the task.
+     * @return The id of the task at the index.
+     */
+    long idAt(int index);
+
+    /**
+     * @param index The zero-based index of the task.
+     * @return Whether the task at the index is marked as done.
+     */
+    boolean isDone(int index);
+
+    /**
+     * Inserts a task that already has its id, shifting later tasks up.
+     *
+     * @param index The zero-based index the task will have, at most the size.
+     * @param task The task to insert.
+     */
+    void insert(int index, Task task);
+
+    /**
+     * @param index The zero-based index of the task to remove.
+     * @return The removed task.
+     */
+    Task remove(int index);
+
+    /**
+     * Removes several tasks in one pass.
+     *
+     * @param indices The zero-based indices of the tasks, strictly ascending and within the list.
+     * @return The removed tasks, in list order.
+     */
+    List<Task> removeAll(int[] indices);
+
+    /**
+     * @param index The zero-based index of the task.
+     * @param isDone The new completion status.
+     * @return The updated task.
+     */
+    Task setDone(int index, boolean isDone);
+
+    /**
+     * @param index The zero-based index of the task.
+     * @param description The new description.
+     * @return The updated task.
+     */
+    Task setDescription(int index, String description);
+
+    /**
+     * @param id The id of the task.
+     * @return The task, or {@code null} if no task has the id.
+     */
+    Task findById(long id);
+
+    /**
+     * @param date The date to search for.
+     * @return The tasks occurring on the date, in list order.
+     */
+    List<Task> tasksOn(LocalDate date);
+
+    /**
+     * Passes every task occurring between the given dates to the consumer, in chronological order.
+     * Deadlines are ordered by due date and events by start date, with deadlines first on the same date
+     * and list order otherwise.
+     *
+     * @param from The first date of the range, inclusive.
+     * @param to The last date of the range, inclusive.
+     * @param consumer Receives each matching task in turn.
+     */
+    void forEachBetween(LocalDate from, LocalDate to, Consumer<Task> consumer);
+
+    /**
+     * Finds the tasks whose lowercased display text contains the keyword.
+     *
+     * @param needle The lowercased keyword.
+     * @return The matching tasks in list order, or {@code null} if the caller should scan a snapshot instead.
+     */
+    List<Task> findByKeyword(String needle);
+
+    /**
+     * @return A read-only copy of the list as it is now, unaffected by later changes.
+     */
+    List<Task> snapshot();
+
+    /**
+     * Waits until every change so far is durably written to the file behind the store, if it has one.
+     */
+    default void force() {
+    }
+
+    /**
+     * @return The id the next added task gets, as saved in the file behind the store, or 0 if the store
+     *     does not save it.
+     */
+    default long nextId() {
+        return 0;
+    }
+
+    /**
+     * @return The journal generation saved in the file behind the store, or 0 if the store does not save it.
+     */
+    default long generation() {
+        return 0;
+    }
+}
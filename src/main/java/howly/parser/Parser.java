@@ -1,19 +1,33 @@
 package howly.parser;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
 
 import howly.commands.AddCommand;
+import howly.commands.BatchCommand;
+import howly.commands.BulkDeleteCommand;
+import howly.commands.BulkMarkCommand;
 import howly.commands.Command;
 import howly.commands.CommandType;
 import howly.commands.DeleteCommand;
 import howly.commands.ExitCommand;
+import howly.commands.ExportCommand;
 import howly.commands.FindCommand;
 import howly.commands.FindDateCommand;
+import howly.commands.FindRangeCommand;
 import howly.commands.ListCommand;
 import howly.commands.MarkCommand;
+import howly.commands.TaskSelection;
+import howly.commands.TaskTarget;
 import howly.commands.UpdateCommand;
 import howly.common.HowlyException;
+import howly.storage.ExportFormat;
 
 /**
  * Handles the logic for interpreting user input strings and converting them into
@@ -22,20 +36,29 @@ import howly.common.HowlyException;
  */
 public class Parser {
 
+    private static final String DEADLINE_MARKER = "/by";
+    private static final String START_MARKER = "/from";
+    private static final String END_MARKER = "/to";
+    private static final String DESCRIPTION_MARKER = "/desc";
+
     /**
      * Parses the full user input and returns the corresponding Command object.
      * This method identifies the primary command word and delegates further
      * parsing to specific command types.
+     * <p>
+     * Input is read by walking indices over the line rather than splitting it or matching regular
+     * expressions, so a well-formed command allocates little beyond the strings it keeps.
+     * </p>
      *
      * @param fullCommand The raw input string entered by the user.
      * @return A {@code Command} object that matches the user's intent.
      * @throws HowlyException If the command word is unrecognized or the input is malformed.
      */
     public static Command parse(String fullCommand) throws HowlyException {
-        String[] parts = fullCommand.split(" ", 2);
-        String commandWord = parts[0];
-        String arguments = parts.length > 1 ? parts[1].trim() : "";
-        CommandType type = CommandType.fromString(commandWord);
+        int space = fullCommand.indexOf(' ');
+        int wordEnd = space < 0 ? fullCommand.length() : space;
+        CommandType type = CommandType.fromString(fullCommand, 0, wordEnd);
+        String arguments = space < 0 ? "" : strip(fullCommand, space + 1, fullCommand.length());
 
         return switch (type) {
         case BYE -> prepareExit(arguments);
@@ -45,7 +68,11 @@ public class Parser {
         case UNMARK -> prepareMark(arguments, false);
         case FINDDATE -> prepareFindDate(arguments);
         case FIND -> prepareFind(arguments);
+        case FINDRANGE -> prepareFindRange(arguments);
+        case UPCOMING -> prepareUpcoming(arguments);
         case UPDATE -> prepareUpdate(arguments);
+        case BATCH -> prepareBatch(arguments);
+        case EXPORT -> prepareExport(arguments);
         case TODO, DEADLINE, EVENT -> prepareAdd(arguments, type);
         default -> throw new HowlyException("I'm sorry, I don't know what that means.");
         };
@@ -78,23 +105,132 @@ public class Parser {
         if (args.isEmpty()) {
             throw new HowlyException("The 'delete' command requires an index.");
         }
+        if (isSelection(args)) {
+            return new BulkDeleteCommand(parseSelection(args, "Please provide valid indices. Eg: delete 3,7,9"));
+        }
+        return new DeleteCommand(parseTarget(args, 0, args.length(), "Please provide a valid numeric index."));
+    }
+
+    /**
+     * Prepares a ListCommand, reading the optional /page and /size arguments.
+     * A page size on its own shows the first page, and a page number on its own uses the default size.
+     */
+    private static Command prepareList(String args) throws HowlyException {
+        if (args.isEmpty()) {
+            return new ListCommand();
+        }
+        int page = 1;
+        int size = ListCommand.DEFAULT_PAGE_SIZE;
+        int end = args.length();
+        int nameStart = 0;
+        while (nameStart < end) {
+            int nameEnd = wordEnd(args, nameStart, end);
+            int valueStart = skipSpaces(args, nameEnd, end);
+            if (valueStart == end) {
+                throw new HowlyException("Please give a number after " + args.substring(nameStart, nameEnd)
+                        + ". Eg: list /page 2 /size 50");
+            }
+            boolean isPage = isWord(args, nameStart, nameEnd, "/page");
+            if (!isPage && !isWord(args, nameStart, nameEnd, "/size")) {
+                throw new HowlyException("The 'list' command only accepts /page and /size. "
+                        + "Eg: list /page 2 /size 50");
+            }
+            int valueEnd = wordEnd(args, valueStart, end);
+            int value = parsePositive(args, valueStart, valueEnd,
+                    "The page and size of a list must be positive numbers.");
+            if (isPage) {
+                page = value;
+            } else {
+                size = value;
+            }
+            nameStart = skipSpaces(args, valueEnd, end);
+        }
+        return new ListCommand(page, size);
+    }
+
+    /**
+     * Parses the task a command acts on: a one-based position such as "2", or an id such as "#12".
+     */
+    private static TaskTarget parseTarget(String arg, int start, int end, String message) throws HowlyException {
         try {
-            int index = Integer.parseInt(args) - 1;
+            if (start < end && arg.charAt(start) == '#') {
+                long id = Long.parseLong(arg, start + 1, end, 10);
+                if (id <= 0) {
+                    throw new HowlyException("Task ids are positive numbers, e.g. #12.");
+                }
+                return TaskTarget.ofId(id);
+            }
+            int index = Integer.parseInt(arg, start, end, 10) - 1;
             assert index >= 0 : "Parsed task index should be non-negative";
-            return new DeleteCommand(index);
+            return TaskTarget.ofIndex(index);
         } catch (NumberFormatException e) {
-            throw new HowlyException("Please provide a valid numeric index.");
+            throw new HowlyException(message);
         }
     }
 
     /**
-     * Prepares a ListCommand by ensuring no arguments are present.
+     * Checks whether the argument selects several tasks rather than one.
      */
-    private static Command prepareList(String args) throws HowlyException {
-        if (!args.isEmpty()) {
-            throw new HowlyException("The 'list' command should not have arguments.");
+    private static boolean isSelection(String arg) {
+        return arg.equals("/done") || arg.indexOf(',') >= 0 || arg.indexOf('-') >= 0;
+    }
+
+    /**
+     * Parses a selection of tasks: "/done" for every completed task, or comma-separated positions,
+     * ranges of positions and ids, such as "1-5,8,#12".
+     */
+    private static TaskSelection parseSelection(String arg, String message) throws HowlyException {
+        if (arg.equals("/done")) {
+            return TaskSelection.completed();
+        }
+        List<TaskTarget> targets = new ArrayList<>();
+        List<int[]> ranges = new ArrayList<>();
+        // Trailing commas are ignored, but an empty item anywhere else is an error
+        int end = arg.length();
+        while (end > 0 && arg.charAt(end - 1) == ',') {
+            end--;
+        }
+        int partStart = 0;
+        while (partStart < end) {
+            int comma = arg.indexOf(',', partStart);
+            int partEnd = comma < 0 || comma > end ? end : comma;
+            int itemStart = trimStart(arg, partStart, partEnd);
+            int itemEnd = trimEnd(arg, itemStart, partEnd);
+            int dash = arg.indexOf('-', itemStart);
+            if (itemStart < itemEnd && arg.charAt(itemStart) == '#') {
+                targets.add(parseTarget(arg, itemStart, itemEnd, message));
+            } else if (dash < 0 || dash >= itemEnd) {
+                targets.add(TaskTarget.ofIndex(parsePositive(arg, itemStart, itemEnd, message) - 1));
+            } else {
+                int first = parsePositive(arg, itemStart, trimEnd(arg, itemStart, dash), message);
+                int last = parsePositive(arg, trimStart(arg, dash + 1, itemEnd), itemEnd, message);
+                if (first > last) {
+                    throw new HowlyException("The range " + arg.substring(itemStart, itemEnd)
+                            + " starts after it ends.");
+                }
+                ranges.add(new int[] {first - 1, last - 1});
+            }
+            partStart = partEnd + 1;
+        }
+        if (targets.isEmpty() && ranges.isEmpty()) {
+            throw new HowlyException("No tasks were selected. " + message);
+        }
+        return TaskSelection.of(targets, ranges);
+    }
+
+    /**
+     * Parses a strictly positive number from part of a string, failing with the given message otherwise.
+     */
+    private static int parsePositive(String text, int start, int end, String message) throws HowlyException {
+        try {
+            int value = Integer.parseInt(text, start, end, 10);
+            if (value <= 0) {
+                throw new HowlyException(message);
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            throw new HowlyException(message);
         }
-        return new ListCommand();
     }
 
     /**
@@ -104,13 +240,11 @@ public class Parser {
         if (args.isEmpty()) {
             throw new HowlyException("Please specify a task index to mark/unmark.");
         }
-        try {
-            int index = Integer.parseInt(args) - 1;
-            assert index >= 0 : "Parsed task index should be non-negative";
-            return new MarkCommand(index, isMark);
-        } catch (NumberFormatException e) {
-            throw new HowlyException("The task index must be a valid number.");
+        if (isSelection(args)) {
+            return new BulkMarkCommand(parseSelection(args, "The task indices must be valid numbers. Eg: mark 1-500"),
+                    isMark);
         }
+        return new MarkCommand(parseTarget(args, 0, args.length(), "The task index must be a valid number."), isMark);
     }
 
     /**
@@ -134,30 +268,98 @@ public class Parser {
         return new FindDateCommand(date);
     }
 
+    /**
+     * Prepares a FindRangeCommand by parsing the start and end dates of the range.
+     */
+    private static Command prepareFindRange(String args) throws HowlyException {
+        int end = args.length();
+        int firstEnd = wordEnd(args, 0, end);
+        int secondStart = skipSpaces(args, firstEnd, end);
+        if (args.isEmpty() || secondStart == end || wordEnd(args, secondStart, end) != end) {
+            throw new HowlyException("The 'findrange' command requires two dates. "
+                    + "Eg: findrange 2026-01-01 2026-01-31");
+        }
+        LocalDate from = parseDate(args.substring(0, firstEnd));
+        LocalDate to = parseDate(args.substring(secondStart));
+        if (from.isAfter(to)) {
+            throw new HowlyException("The start date cannot be after the end date!");
+        }
+        return new FindRangeCommand(from, to);
+    }
+
+    /**
+     * Prepares a FindRangeCommand covering today and the given number of days after it.
+     */
+    private static Command prepareUpcoming(String args) throws HowlyException {
+        try {
+            int days = Integer.parseInt(args);
+            if (days < 0) {
+                throw new NumberFormatException();
+            }
+            LocalDate today = LocalDate.now();
+            return new FindRangeCommand(today, today.plusDays(days));
+        } catch (NumberFormatException e) {
+            throw new HowlyException("The 'upcoming' command requires a number of days. Eg: upcoming 7");
+        }
+    }
+
+    /**
+     * Prepares a BatchCommand by reading the commands in the given file, one per line.
+     */
+    private static Command prepareBatch(String args) throws HowlyException {
+        if (args.isEmpty()) {
+            throw new HowlyException("The 'batch' command requires a file of commands. Eg: batch data/script.txt");
+        }
+        try {
+            return new BatchCommand(args, Files.readAllLines(Path.of(args)));
+        } catch (IOException | RuntimeException e) {
+            throw new HowlyException("Could not read the batch file " + args + ".");
+        }
+    }
+
+    /**
+     * Prepares an ExportCommand from the format word and the path of the file to write.
+     */
+    private static Command prepareExport(String args) throws HowlyException {
+        int end = args.length();
+        int formatEnd = wordEnd(args, 0, end);
+        int pathStart = skipSpaces(args, formatEnd, end);
+        if (args.isEmpty() || pathStart == end) {
+            throw new HowlyException("The 'export' command requires a format and a file. "
+                    + "Eg: export csv data/tasks.csv");
+        }
+        ExportFormat format;
+        try {
+            format = ExportFormat.valueOf(args.substring(0, formatEnd).toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new HowlyException("The export format must be csv, jsonl or ics.");
+        }
+        try {
+            return new ExportCommand(format, Path.of(args.substring(pathStart)));
+        } catch (InvalidPathException e) {
+            throw new HowlyException("Invalid export file: " + args.substring(pathStart));
+        }
+    }
+
     /**
      * Prepares an UpdateCommand by extracting the task index and the new description.
      */
     private static Command prepareUpdate(String args) throws HowlyException {
-        if (!args.contains("/desc")) {
+        int marker = args.indexOf(DESCRIPTION_MARKER);
+        if (marker < 0) {
             throw new HowlyException("Update command requires /desc. Eg: update 1 /desc New Name");
         }
-        try {
-            String[] parts = args.split("/desc", 2);
-            int index = Integer.parseInt(parts[0].trim()) - 1;
-            String newDesc = parts[1].trim();
-            if (newDesc.isEmpty()) {
-                throw new HowlyException("The new description cannot be empty.");
-            }
-            assert index >= 0 : "Parsed update index should be non-negative";
-            return new UpdateCommand(index, newDesc);
-        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
-            throw new HowlyException("Invalid format. Use: update [index] /desc [new description]");
+        TaskTarget target = parseTarget(args, 0, trimEnd(args, 0, marker),
+                "Invalid format. Use: update [index] /desc [new description]");
+        String newDesc = strip(args, marker + DESCRIPTION_MARKER.length(), args.length());
+        if (newDesc.isEmpty()) {
+            throw new HowlyException("The new description cannot be empty.");
         }
+        return new UpdateCommand(target, newDesc);
     }
 
     /**
      * Extracts the description for a ToDo task from the user input.
-     * Non-trivial as it uses regex to case-insensitively strip the command word.
      *
      * @param args The raw input string (e.g., "todo read book").
      * @return The trimmed description of the task.
@@ -179,44 +381,47 @@ public class Parser {
      * @throws HowlyException If the /by delimiter is missing or if fields are empty.
      */
     public static String[] parseDeadline(String input) throws HowlyException {
-        String content = input.replaceFirst("(?i)deadline", "").trim();
-        if (!content.contains("/by")) {
+        int start = skipCommandWord(input, "deadline");
+        int marker = input.indexOf(DEADLINE_MARKER, start);
+        if (marker < 0) {
             throw new HowlyException("A deadline must include /by. Eg: deadline return book /by 2025-12-31");
         }
-        String[] parts = content.split("/by", 2);
-        if (parts[0].trim().isEmpty()) {
+        String description = strip(input, start, marker);
+        if (description.isEmpty()) {
             throw new HowlyException("The description of a deadline cannot be empty.");
         }
-        if (parts.length < 2 || parts[1].trim().isEmpty()) {
+        String by = strip(input, marker + DEADLINE_MARKER.length(), input.length());
+        if (by.isEmpty()) {
             throw new HowlyException("The deadline date (/by) cannot be empty.");
         }
-        return new String[]{parts[0].trim(), parts[1].trim()};
+        return new String[]{description, by};
     }
 
     /**
      * Parses the input for an event task into its description, start time, and end time.
-     * Uses regex to split the string by both /from and /to markers.
+     * The fields are read in the order the /from and /to markers appear.
      *
      * @param input The raw input string.
      * @return A {@code String} array where index 0 is description, index 1 is start, and index 2 is end.
      * @throws HowlyException If markers are missing or any field is empty.
      */
     public static String[] parseEvent(String input) throws HowlyException {
-        String content = input.replaceFirst("(?i)event", "").trim();
-        if (!content.contains("/from") || !content.contains("/to")) {
+        int start = skipCommandWord(input, "event");
+        if (input.indexOf(START_MARKER, start) < 0 || input.indexOf(END_MARKER, start) < 0) {
             throw new HowlyException("An event must include /from and /to. "
                     + "Eg: event meeting /from 2025-10-15 /to 2025-10-16");
         }
 
-        // Split by /from and /to. Using regex to handle both.
-        String[] parts = content.split("/from|/to");
-        if (parts.length < 3 || parts[0].trim().isEmpty()
-                || parts[1].trim().isEmpty() || parts[2].trim().isEmpty()) {
+        // Both markers are present, so there are always at least two to cut at
+        int first = nextEventMarker(input, start);
+        int second = nextEventMarker(input, eventMarkerEnd(input, first));
+        int third = nextEventMarker(input, eventMarkerEnd(input, second));
+        String desc = strip(input, start, first);
+        String startStr = strip(input, eventMarkerEnd(input, first), second);
+        String endStr = strip(input, eventMarkerEnd(input, second), third < 0 ? input.length() : third);
+        if (desc.isEmpty() || startStr.isEmpty() || endStr.isEmpty()) {
             throw new HowlyException("Event description, /from, and /to fields cannot be empty.");
         }
-        String desc = parts[0].trim();
-        String startStr = parts[1].trim();
-        String endStr = parts[2].trim();
         LocalDate startDate = parseDate(startStr);
         LocalDate endDate = parseDate(endStr);
         if (startDate.isAfter(endDate)) {
@@ -239,4 +444,77 @@ public class Parser {
             throw new HowlyException("Please specify a date in yyyy-mm-dd format.");
         }
     }
+
+    /**
+     * Finds where the text after a leading command word starts, so both "deadline x /by y" and
+     * "x /by y" can be parsed. The word only counts when it stands on its own.
+     */
+    private static int skipCommandWord(String input, String word) {
+        int start = trimStart(input, 0, input.length());
+        int wordEnd = start + word.length();
+        boolean isWord = input.regionMatches(true, start, word, 0, word.length())
+                && (wordEnd == input.length() || !Character.isLetterOrDigit(input.charAt(wordEnd)));
+        return isWord ? wordEnd : start;
+    }
+
+    /**
+     * Finds the next /from or /to marker at or after the given index, or -1 if there is none.
+     */
+    private static int nextEventMarker(String input, int from) {
+        int start = input.indexOf(START_MARKER, from);
+        int end = input.indexOf(END_MARKER, from);
+        return start < 0 || (end >= 0 && end < start) ? end : start;
+    }
+
+    private static int eventMarkerEnd(String input, int marker) {
+        return marker + (input.startsWith(START_MARKER, marker) ? START_MARKER.length() : END_MARKER.length());
+    }
+
+    /**
+     * Returns part of a string with surrounding whitespace removed, as {@link String#trim()} would,
+     * copying the characters only once.
+     */
+    private static String strip(String text, int start, int end) {
+        int first = trimStart(text, start, end);
+        return text.substring(first, trimEnd(text, first, end));
+    }
+
+    private static int trimStart(String text, int start, int end) {
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimEnd(String text, int start, int end) {
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * Finds the end of the word starting at the given index, where words are separated by whitespace.
+     */
+    private static int wordEnd(String text, int start, int end) {
+        while (start < end && !isSpace(text.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    private static int skipSpaces(String text, int start, int end) {
+        while (start < end && isSpace(text.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+
+    private static boolean isWord(String text, int start, int end, String word) {
+        return end - start == word.length() && text.startsWith(word, start);
+    }
 }
@@ -0,0 +1,209 @@
+package howly.storage;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import howly.tasks.Deadline;
+import howly.tasks.DescriptionPool;
+import howly.tasks.Event;
+import howly.tasks.Task;
+import howly.tasks.ToDo;
+
+/**
+ * Reads and writes snapshots in the compact binary format.
+ * <p>
+ * The file starts with the magic bytes "HWLY", a version byte, the journal generation (long),
+ * the id the next added task gets (long) and the number of records (int). Each record is then laid out as:
+ * </p>
+ * <pre>
+ * type    1 byte   'T', 'D' or 'E'
+ * flags   1 byte   bit 0 set if the task is done
+ * id      long     the task's id, or 0 if it has none
+ * dates   0, 1 or 2 ints   epoch days of Deadline.by, or of Event.from and Event.to
+ * length  int      number of bytes in the description
+ * desc    bytes    UTF-8 description
+ * </pre>
+ * All numbers are big-endian, so loading is mostly integer decoding instead of string parsing.
+ * Version 1 files, written before tasks had ids, lack the id field, and version 2 files lack the next id;
+ * both are still read.
+ */
+class BinaryTaskCodec {
+    static final int VERSION = 3;
+    private static final int VERSION_WITHOUT_NEXT_ID = 2;
+    private static final int VERSION_WITHOUT_IDS = 1;
+
+    private static final byte[] MAGIC = {'H', 'W', 'L', 'Y'};
+    private static final int DONE_FLAG = 1;
+    /** The size of a to-do with an empty description: type, flags, id and length. */
+    private static final int MIN_RECORD_BYTES = 2 + Long.BYTES + Integer.BYTES;
+
+    private final File file;
+    private long generation;
+    private long nextId;
+
+    /**
+     * Creates a loader for the given binary snapshot.
+     *
+     * @param file The binary snapshot.
+     */
+    BinaryTaskCodec(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Checks whether the file starts with the binary format's magic bytes.
+     *
+     * @param file The file to inspect.
+     * @return {@code true} if the file is a binary snapshot.
+     * @throws IOException If the file cannot be read.
+     */
+    static boolean isBinary(File file) throws IOException {
+        try (FileInputStream in = new FileInputStream(file)) {
+            return Arrays.equals(in.readNBytes(MAGIC.length), MAGIC);
+        }
+    }
+
+    /**
+     * Writes the tasks as a binary snapshot.
+     *
+     * @param file The stream of the file to write to, left open so that the caller can sync it.
+     * @param tasks The tasks to write, in list order.
+     * @param generation The journal generation the snapshot includes, or 0 if not journaled.
+     * @param nextId The id the next added task gets.
+     * @throws IOException If the file cannot be written.
+     */
+    static void write(FileOutputStream file, List<Task> tasks, long generation, long nextId) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16));
+        out.write(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(generation);
+        out.writeLong(nextId);
+        out.writeInt(tasks.size());
+        for (Task t : tasks) {
+            if (t instanceof Deadline) {
+                out.writeByte('D');
+                out.writeByte(flags(t));
+                out.writeLong(t.getId());
+                out.writeInt((int) ((Deadline) t).getBy().toEpochDay());
+            } else if (t instanceof Event) {
+                out.writeByte('E');
+                out.writeByte(flags(t));
+                out.writeLong(t.getId());
+                out.writeInt((int) ((Event) t).getFrom().toEpochDay());
+                out.writeInt((int) ((Event) t).getTo().toEpochDay());
+            } else {
+                out.writeByte('T');
+                out.writeByte(flags(t));
+                out.writeLong(t.getId());
+            }
+            byte[] description = t.getDescription().getBytes(StandardCharsets.UTF_8);
+            out.writeInt(description.length);
+            out.write(description);
+        }
+        out.flush();
+    }
+
+    /**
+     * Reads every task in the snapshot, in order, into the given list.
+     * A truncated or damaged record stops the load, keeping the tasks read so far; the generation
+     * read from the header is kept either way.
+     *
+     * @param into The list the decoded tasks are appended to.
+     * @return {@code true} if every record was read, {@code false} if a damaged record was found.
+     * @throws IOException If the file cannot be mapped, or uses an unsupported version.
+     */
+    boolean load(ArrayList<Task> into) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            try {
+                buffer.position(MAGIC.length);
+                int version = buffer.get();
+                if (version < VERSION_WITHOUT_IDS || version > VERSION) {
+                    throw new IOException("Unsupported binary format version " + version);
+                }
+                generation = buffer.getLong();
+                nextId = version == VERSION ? buffer.getLong() : 0;
+                int count = buffer.getInt();
+                if (count < 0) {
+                    return false;
+                }
+                // A damaged count must not size the list past what the rest of the file can hold
+                int minRecordBytes = version == VERSION_WITHOUT_IDS ? MIN_RECORD_BYTES - Long.BYTES : MIN_RECORD_BYTES;
+                into.ensureCapacity(into.size() + Math.min(count, buffer.remaining() / minRecordBytes));
+                byte[] scratch = new byte[256];
+                for (int i = 0; i < count; i++) {
+                    byte type = buffer.get();
+                    boolean isDone = (buffer.get() & DONE_FLAG) != 0;
+                    long id = version == VERSION_WITHOUT_IDS ? 0 : buffer.getLong();
+                    Task t;
+                    switch (type) {
+                    case 'T':
+                        t = new ToDo(readString(buffer, scratch));
+                        break;
+                    case 'D':
+                        LocalDate by = LocalDate.ofEpochDay(buffer.getInt());
+                        t = new Deadline(readString(buffer, scratch), by);
+                        break;
+                    case 'E':
+                        LocalDate from = LocalDate.ofEpochDay(buffer.getInt());
+                        LocalDate to = LocalDate.ofEpochDay(buffer.getInt());
+                        t = new Event(readString(buffer, scratch), from, to);
+                        break;
+                    default:
+                        return false;
+                    }
+                    if (isDone) {
+                        t.markAsDone();
+                    }
+                    t.setId(id);
+                    into.add(t);
+                }
+            } catch (BufferUnderflowException | DateTimeException | IllegalArgumentException e) {
+                return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * @return The journal generation stored in the header, or 0 if the header could not be read.
+     */
+    long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * @return The id the next added task gets, or 0 if the file does not record it.
+     */
+    long getNextId() {
+        return nextId;
+    }
+
+    private static int flags(Task t) {
+        return t.isDone() ? DONE_FLAG : 0;
+    }
+
+    private static String readString(MappedByteBuffer buffer, byte[] scratch) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid description length " + length);
+        }
+        byte[] bytes = length <= scratch.length ? scratch : new byte[length];
+        buffer.get(bytes, 0, length);
+        return DescriptionPool.shared().intern(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+}
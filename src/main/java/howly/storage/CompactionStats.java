@@ -0,0 +1,67 @@
+package howly.storage;
+
+/**
+ * Represents a point-in-time summary of the journal compactions performed by a {@link Storage}.
+ * Pause time is the time the calling thread was blocked to hand a compaction over to the
+ * background thread; the snapshot itself is written off that thread.
+ */
+public class CompactionStats {
+    private final int compactions;
+    private final long recordsFolded;
+    private final long bytesReclaimed;
+    private final long totalPauseNanos;
+    private final long lastPauseNanos;
+    private final long lastDurationNanos;
+
+    /**
+     * @param compactions The number of compactions completed.
+     * @param recordsFolded The total number of journal records folded into snapshots.
+     * @param bytesReclaimed The total number of bytes freed on disk by compactions.
+     * @param totalPauseNanos The total time callers were blocked by compactions.
+     * @param lastPauseNanos The time the caller was blocked by the most recent compaction.
+     * @param lastDurationNanos The time taken by the most recent compaction on the background thread.
+     */
+    public CompactionStats(int compactions, long recordsFolded, long bytesReclaimed,
+            long totalPauseNanos, long lastPauseNanos, long lastDurationNanos) {
+        this.compactions = compactions;
+        this.recordsFolded = recordsFolded;
+        this.bytesReclaimed = bytesReclaimed;
+        this.totalPauseNanos = totalPauseNanos;
+        this.lastPauseNanos = lastPauseNanos;
+        this.lastDurationNanos = lastDurationNanos;
+    }
+
+    public int getCompactions() {
+        return compactions;
+    }
+
+    public long getRecordsFolded() {
+        return recordsFolded;
+    }
+
+    public long getBytesReclaimed() {
+        return bytesReclaimed;
+    }
+
+    public long getTotalPauseNanos() {
+        return totalPauseNanos;
+    }
+
+    public long getLastPauseNanos() {
+        return lastPauseNanos;
+    }
+
+    public long getLastDurationNanos() {
+        return lastDurationNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "compactions=" + compactions
+                + ", recordsFolded=" + recordsFolded
+                + ", bytesReclaimed=" + bytesReclaimed
+                + ", totalPauseMicros=" + totalPauseNanos / 1_000
+                + ", lastPauseMicros=" + lastPauseNanos / 1_000
+                + ", lastDurationMicros=" + lastDurationNanos / 1_000;
+    }
+}
@@ -0,0 +1,166 @@
+package howly.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongSupplier;
+
+import howly.tasks.Task;
+
+/**
+ * Folds journal segments into a fresh snapshot on a background thread.
+ * <p>
+ * A compaction freezes the active journal segment and takes a shallow copy of the task list on the
+ * calling thread, which is the only pause callers see. The snapshot is then written to a temporary
+ * file, atomically renamed over the data file, and the frozen segments are deleted.
+ * Task objects may still be marked or renamed while the copy is being written; those changes are also
+ * recorded in the new segment and replaying them is idempotent, so the result is the same either way.
+ * </p>
+ */
+class Compactor {
+    static final int DEFAULT_RECORD_THRESHOLD = 10_000;
+    static final long DEFAULT_BYTE_THRESHOLD = 1L << 20;
+    static final long DEFAULT_MAX_AGE_MILLIS = 10 * 60 * 1000;
+
+    private final File dataFile;
+    private final StorageFormat format;
+    private final Journal journal;
+    private final LongSupplier nextId;
+    private final int recordThreshold;
+    private final long byteThreshold;
+    private final long maxAgeMillis;
+    private final ExecutorService executor;
+    private Future<?> inFlight;
+
+    private int compactions;
+    private long recordsFolded;
+    private long bytesReclaimed;
+    private long totalPauseNanos;
+    private long lastPauseNanos;
+    private long lastDurationNanos;
+
+    /**
+     * @param dataFile The snapshot file the journal belongs to.
+     * @param format The layout snapshots are written in.
+     * @param journal The journal whose segments are folded.
+     * @param nextId Supplies the id the next added task gets, to be saved in each snapshot.
+     * @param recordThreshold The number of unfolded records that triggers a compaction.
+     * @param byteThreshold The size of the active segment in bytes that triggers a compaction.
+     * @param maxAgeMillis The age of a non-empty active segment that triggers a compaction.
+     */
+    Compactor(File dataFile, StorageFormat format, Journal journal, LongSupplier nextId, int recordThreshold,
+            long byteThreshold, long maxAgeMillis) {
+        this.dataFile = dataFile;
+        this.format = format;
+        this.journal = journal;
+        this.nextId = nextId;
+        this.recordThreshold = recordThreshold;
+        this.byteThreshold = byteThreshold;
+        this.maxAgeMillis = maxAgeMillis;
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "howly-compactor");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Starts a background compaction if the journal has crossed any threshold and no compaction is running.
+     * Must be called from the thread that mutates the task list.
+     *
+     * @param tasks The live task list.
+     */
+    void maybeCompact(List<Task> tasks) {
+        if (isRunning()) {
+            return;
+        }
+        int pending = journal.getRecordCount();
+        boolean isDue = pending >= recordThreshold
+                || journal.getActiveBytes() >= byteThreshold
+                || (pending > 0 && journal.getActiveAgeMillis() >= maxAgeMillis);
+        if (isDue) {
+            compact(tasks);
+        }
+    }
+
+    /**
+     * Freezes the active journal segment and folds it into a new snapshot on the background thread.
+     * Must be called from the thread that mutates the task list.
+     *
+     * @param tasks The live task list.
+     * @return A future that completes once the new snapshot is in place.
+     */
+    Future<?> compact(List<Task> tasks) {
+        long start = System.nanoTime();
+        awaitIdle();
+        ArrayList<Task> copy = new ArrayList<>(tasks);
+        long copyNextId = nextId.getAsLong();
+        int folded = journal.getRecordCount();
+        long frozen = journal.rotate();
+        long pause = System.nanoTime() - start;
+
+        inFlight = executor.submit(() -> {
+            long writeStart = System.nanoTime();
+            long before = dataFile.length();
+            try {
+                Storage.writeSnapshot(dataFile, copy, frozen + 1, copyNextId, format);
+            } catch (IOException e) {
+                System.out.println(" Error compacting tasks: " + e.getMessage());
+                return;
+            }
+            long freed = before + journal.discardThrough(frozen) - dataFile.length();
+            record(folded, freed, pause, System.nanoTime() - writeStart);
+        });
+        return inFlight;
+    }
+
+    /**
+     * Blocks until the running compaction, if any, has finished.
+     */
+    void awaitIdle() {
+        if (inFlight == null) {
+            return;
+        }
+        try {
+            inFlight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.out.println(" Error compacting tasks: " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Waits for the running compaction and stops the background thread.
+     */
+    void close() {
+        awaitIdle();
+        executor.shutdown();
+    }
+
+    /**
+     * @return The statistics of all compactions completed so far.
+     */
+    synchronized CompactionStats getStats() {
+        return new CompactionStats(compactions, recordsFolded, bytesReclaimed,
+                totalPauseNanos, lastPauseNanos, lastDurationNanos);
+    }
+
+    private boolean isRunning() {
+        return inFlight != null && !inFlight.isDone();
+    }
+
+    private synchronized void record(int folded, long freed, long pause, long duration) {
+        compactions++;
+        recordsFolded += folded;
+        bytesReclaimed += Math.max(0, freed);
+        totalPauseNanos += pause;
+        lastPauseNanos = pause;
+        lastDurationNanos = duration;
+    }
+}
@@ -0,0 +1,266 @@
+package howly.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import howly.tasks.Deadline;
+import howly.tasks.Event;
+import howly.tasks.Task;
+import howly.tasks.ToDo;
+
+/**
+ * Generates large synthetic task lists for load and scale testing.
+ * <p>
+ * Every task is derived from the seed and its own position alone, so the same seed always gives the
+ * same tasks, any task can be produced without the ones before it, and a list of millions of tasks
+ * can be written to a data file without ever being held in memory.
+ * The mix of task types, the share of done tasks, the number of words in a description and the spread
+ * of dates can all be configured; anything not configured keeps a modest default.
+ * </p>
+ */
+public class DatasetGenerator {
+    private static final String[] WORDS = {
+        "read", "book", "return", "project", "meeting", "buy", "bread", "submit", "report", "call",
+        "plan", "trip", "review", "notes", "pay", "rent", "clean", "room", "email", "team",
+        "draft", "proposal", "water", "plants", "fix", "bike", "gym", "session", "dentist", "visit",
+        "lecture", "tutorial", "assignment", "groceries", "laundry", "birthday", "gift", "exam", "revise", "chapter"
+    };
+
+    private final long seed;
+    private int todoWeight = 1;
+    private int deadlineWeight = 1;
+    private int eventWeight = 1;
+    private double doneRatio = 0.3;
+    private int minWords = 1;
+    private int maxWords = 6;
+    private LocalDate firstDate = LocalDate.of(2026, 1, 1);
+    private int dateSpreadDays = 365;
+    private int maxEventDays = 7;
+
+    /**
+     * @param seed The seed every task is derived from.
+     */
+    public DatasetGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Sets the relative weights of each task type, e.g. 5, 3, 2 for half todos.
+     *
+     * @param todo The weight of todos.
+     * @param deadline The weight of deadlines.
+     * @param event The weight of events.
+     * @return This generator.
+     */
+    public DatasetGenerator setTypeMix(int todo, int deadline, int event) {
+        if (todo < 0 || deadline < 0 || event < 0 || todo + deadline + event == 0) {
+            throw new IllegalArgumentException("Type weights must be non-negative and not all zero");
+        }
+        this.todoWeight = todo;
+        this.deadlineWeight = deadline;
+        this.eventWeight = event;
+        return this;
+    }
+
+    /**
+     * Sets the share of tasks that are marked as done.
+     *
+     * @param ratio A share between 0 and 1.
+     * @return This generator.
+     */
+    public DatasetGenerator setDoneRatio(double ratio) {
+        if (ratio < 0 || ratio > 1) {
+            throw new IllegalArgumentException("Done ratio must be between 0 and 1");
+        }
+        this.doneRatio = ratio;
+        return this;
+    }
+
+    /**
+     * Sets the range of the number of words in a description, chosen uniformly.
+     * A running number is appended to every description so that no two are alike.
+     *
+     * @param min The fewest words.
+     * @param max The most words.
+     * @return This generator.
+     */
+    public DatasetGenerator setDescriptionWords(int min, int max) {
+        if (min < 1 || max < min) {
+            throw new IllegalArgumentException("Word counts must satisfy 1 <= min <= max");
+        }
+        this.minWords = min;
+        this.maxWords = max;
+        return this;
+    }
+
+    /**
+     * Sets the dates that deadlines and events are spread over, chosen uniformly.
+     *
+     * @param first The earliest due or start date.
+     * @param days The number of days after {@code first} that dates are spread over.
+     * @param maxEventLength The most days an event may last beyond its start date.
+     * @return This generator.
+     */
+    public DatasetGenerator setDateSpread(LocalDate first, int days, int maxEventLength) {
+        if (days < 1 || maxEventLength < 0) {
+            throw new IllegalArgumentException("Date spread must be positive and event length non-negative");
+        }
+        this.firstDate = first;
+        this.dateSpreadDays = days;
+        this.maxEventDays = maxEventLength;
+        return this;
+    }
+
+    /**
+     * Creates the task at the given position of the dataset.
+     *
+     * @param index The zero-based position of the task.
+     * @return A new task, identical for the same seed, configuration and position, with id {@code index + 1}.
+     */
+    public Task task(int index) {
+        Random random = new Random(mix(seed, index));
+        int words = minWords + random.nextInt(maxWords - minWords + 1);
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            description.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        description.append(index + 1);
+
+        LocalDate date = firstDate.plusDays(random.nextInt(dateSpreadDays));
+        int type = random.nextInt(todoWeight + deadlineWeight + eventWeight);
+        Task task;
+        if (type < todoWeight) {
+            task = new ToDo(description.toString());
+        } else if (type < todoWeight + deadlineWeight) {
+            task = new Deadline(description.toString(), date);
+        } else {
+            task = new Event(description.toString(), date, date.plusDays(random.nextInt(maxEventDays + 1)));
+        }
+        if (random.nextDouble() < doneRatio) {
+            task.markAsDone();
+        }
+        task.setId(index + 1L);
+        return task;
+    }
+
+    /**
+     * Returns a read-only view of the first {@code count} tasks, created afresh on each access.
+     * Writing the view visits every task once without keeping any of them.
+     *
+     * @param count The number of tasks.
+     * @return The lazily generated tasks.
+     */
+    public List<Task> view(int count) {
+        return new AbstractList<>() {
+            @Override
+            public Task get(int index) {
+                return task(index);
+            }
+
+            @Override
+            public int size() {
+                return count;
+            }
+        };
+    }
+
+    /**
+     * Creates the first {@code count} tasks of the dataset.
+     *
+     * @param count The number of tasks.
+     * @return The tasks, in order.
+     */
+    public ArrayList<Task> generate(int count) {
+        return new ArrayList<>(view(count));
+    }
+
+    /**
+     * Writes the first {@code count} tasks to a data file, generating them as they are written.
+     *
+     * @param target The data file to write.
+     * @param count The number of tasks.
+     * @param format The layout to write the file in.
+     * @throws IOException If the file cannot be written.
+     */
+    public void write(File target, int count, StorageFormat format) throws IOException {
+        Storage.writeSnapshot(target, view(count), 0, 0, format);
+    }
+
+    /**
+     * Writes a generated data file from the command line.
+     * Optional settings are given as key=value pairs: format=text|binary|mapped, seed=N, mix=T:D:E, done=RATIO,
+     * words=MIN:MAX, from=YYYY-MM-DD, spread=DAYS and eventdays=DAYS.
+     *
+     * @param args The target path, the number of tasks and any optional settings.
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: DatasetGenerator TARGET COUNT [format=text|binary|mapped] [seed=N] [mix=T:D:E]"
+                    + " [done=RATIO] [words=MIN:MAX] [from=YYYY-MM-DD] [spread=DAYS] [eventdays=DAYS]");
+            return;
+        }
+        try {
+            int count = Integer.parseInt(args[1]);
+            StorageFormat format = StorageFormat.TEXT;
+            long seed = 0;
+            LocalDate from = LocalDate.of(2026, 1, 1);
+            int spread = 365;
+            int eventDays = 7;
+            String[] mix = null;
+            String[] words = null;
+            double done = 0.3;
+            for (int i = 2; i < args.length; i++) {
+                String[] setting = args[i].split("=", 2);
+                String value = setting.length > 1 ? setting[1] : "";
+                switch (setting[0]) {
+                case "format" -> format = StorageFormat.valueOf(value.toUpperCase());
+                case "seed" -> seed = Long.parseLong(value);
+                case "mix" -> mix = value.split(":");
+                case "done" -> done = Double.parseDouble(value);
+                case "words" -> words = value.split(":");
+                case "from" -> from = LocalDate.parse(value);
+                case "spread" -> spread = Integer.parseInt(value);
+                case "eventdays" -> eventDays = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("Unknown setting: " + setting[0]);
+                }
+            }
+            DatasetGenerator generator = new DatasetGenerator(seed)
+                    .setDoneRatio(done)
+                    .setDateSpread(from, spread, eventDays);
+            if (mix != null) {
+                generator.setTypeMix(Integer.parseInt(mix[0]), Integer.parseInt(mix[1]), Integer.parseInt(mix[2]));
+            }
+            if (words != null) {
+                generator.setDescriptionWords(Integer.parseInt(words[0]), Integer.parseInt(words[1]));
+            }
+
+            long start = System.nanoTime();
+            File target = new File(args[0]);
+            generator.write(target, count, format);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            System.out.println(" Wrote " + count + " tasks (" + target.length() + " bytes) to " + target
+                    + " in " + millis + " ms");
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | DateTimeException e) {
+            System.out.println(" Invalid setting: " + e.getMessage());
+        } catch (IOException e) {
+            System.out.println(" Error writing tasks: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Scrambles the seed and position into a well-spread seed for that position's generator,
+     * so that neighbouring positions do not produce correlated tasks.
+     */
+    private static long mix(long seed, int index) {
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
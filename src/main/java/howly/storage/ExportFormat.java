@@ -0,0 +1,20 @@
+package howly.storage;
+
+/**
+ * Represents the formats tasks can be exported in for other tools to read.
+ * Unlike a {@link StorageFormat}, an export is never loaded back.
+ */
+public enum ExportFormat {
+    /**
+     * Comma-separated values with a header row, quoted as in RFC 4180.
+     */
+    CSV,
+    /**
+     * One JSON object per line.
+     */
+    JSONL,
+    /**
+     * An iCalendar file with todos and deadlines as VTODOs and events as all-day VEVENTs.
+     */
+    ICS
+}
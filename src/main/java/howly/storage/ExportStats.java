@@ -0,0 +1,48 @@
+package howly.storage;
+
+/**
+ * Represents a summary of one export: how many tasks and bytes were written, and how long it took.
+ */
+public class ExportStats {
+    private final long tasks;
+    private final long bytes;
+    private final long nanos;
+
+    /**
+     * @param tasks The number of tasks written.
+     * @param bytes The size of the exported file.
+     * @param nanos The time taken to write the file.
+     */
+    public ExportStats(long tasks, long bytes, long nanos) {
+        this.tasks = tasks;
+        this.bytes = bytes;
+        this.nanos = nanos;
+    }
+
+    public long getTasks() {
+        return tasks;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * @return The throughput of the export in megabytes (10^6 bytes) per second.
+     */
+    public double getMegabytesPerSecond() {
+        return nanos == 0 ? 0 : bytes * 1_000.0 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return "tasks=" + tasks
+                + ", bytes=" + bytes
+                + ", millis=" + nanos / 1_000_000
+                + ", megabytesPerSecond=" + String.format("%.1f", getMegabytesPerSecond());
+    }
+}
@@ -0,0 +1,52 @@
+package howly.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+
+import howly.tasks.Task;
+
+/**
+ * Converts a data file between the text, binary and mapped snapshot formats.
+ * The source format is detected from the file, so any snapshot can be converted to either format.
+ * Journal segments are not read; close the application first so that they have been folded in.
+ */
+public class FormatConverter {
+    /**
+     * Converts the snapshot at {@code source} and writes it to {@code target} in the given format.
+     * The source and target may be the same file.
+     *
+     * @param source The snapshot to read.
+     * @param target The file to write.
+     * @param format The layout to write the target in.
+     * @return The number of tasks converted.
+     * @throws IOException If the source cannot be read or the target cannot be written.
+     */
+    public static int convert(File source, File target, StorageFormat format) throws IOException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        SnapshotHeader header = Storage.loadSnapshot(source, tasks);
+        Storage.writeSnapshot(target, tasks, header.getGeneration(), header.getNextId(), format);
+        return tasks.size();
+    }
+
+    /**
+     * Converts a data file from the command line.
+     *
+     * @param args The source path, the target path and the target format ("text", "binary" or "mapped").
+     */
+    public static void main(String[] args) {
+        if (args.length != 3) {
+            System.out.println("Usage: FormatConverter SOURCE TARGET text|binary|mapped");
+            return;
+        }
+        try {
+            StorageFormat format = StorageFormat.valueOf(args[2].toUpperCase());
+            int count = convert(new File(args[0]), new File(args[1]), format);
+            System.out.println(" Converted " + count + " tasks to " + format + ": " + args[1]);
+        } catch (IllegalArgumentException e) {
+            System.out.println(" Unknown format: " + args[2]);
+        } catch (IOException e) {
+            System.out.println(" Error converting tasks: " + e.getMessage());
+        }
+    }
+}
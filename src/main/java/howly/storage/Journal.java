@@ -0,0 +1,385 @@
+package howly.storage;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.TreeMap;
+
+import howly.tasks.DescriptionPool;
+import howly.tasks.Task;
+
+/**
+ * Represents an append-only log of task list mutations that sits beside the snapshot file.
+ * <p>
+ * Each mutation is written as one small record instead of rewriting the whole data file.
+ * Records use the same " | " separated layout as the snapshot, prefixed by the operation. An added task
+ * is written whole, starting with its id; the other records name tasks by their zero-based position:
+ * </p>
+ * <pre>
+ * ADD | 1 | T | 0 | read book
+ * ADD | 2 | D | 0 | return book | 2026-03-01
+ * DELETE | 2
+ * MARK | 2 | 1
+ * UPDATE | 2 | new description
+ * DELETE | 3,7,9
+ * MARK | 0,1,2 | 1
+ * </pre>
+ * <p>
+ * A bulk change is a single record listing every index it touched, in ascending order. ADD records
+ * written before tasks had ids lack the id, and are still replayed. Replaying an ADD also raises the next
+ * id to past the added task's, so an id deleted after being journaled is not given out again.
+ * </p>
+ * <p>
+ * The log is split into numbered segments (e.g. "howly.txt.3.log"). Segment N holds the records
+ * that apply on top of the snapshot of generation N, so a crash at any point of a compaction
+ * still replays to the same list.
+ * </p>
+ */
+class Journal {
+    private static final String SEPARATOR = " | ";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String ADD = "ADD";
+    private static final String DELETE = "DELETE";
+    private static final String MARK = "MARK";
+    private static final String UPDATE = "UPDATE";
+
+    private final File dataFile;
+    private long generation;
+    private File active;
+    private int records;
+    private long startedAt;
+    private long nextId;
+
+    Journal(String dataPath) {
+        this.dataFile = new File(dataPath).getAbsoluteFile();
+        startSegment(0);
+    }
+
+    /**
+     * Appends a record for a newly added task.
+     *
+     * @param task The task that was appended to the end of the list.
+     * @throws IOException If the record cannot be written.
+     */
+    void appendAdd(Task task) throws IOException {
+        append(ADD + SEPARATOR + task.toFileFormat());
+    }
+
+    /**
+     * Appends a record for a task removed at the given index.
+     *
+     * @param index The zero-based index of the removed task.
+     * @throws IOException If the record cannot be written.
+     */
+    void appendDelete(int index) throws IOException {
+        append(DELETE + SEPARATOR + index);
+    }
+
+    /**
+     * Appends a record for a change in completion status.
+     *
+     * @param index The zero-based index of the task.
+     * @param isDone The new completion status of the task.
+     * @throws IOException If the record cannot be written.
+     */
+    void appendMark(int index, boolean isDone) throws IOException {
+        append(MARK + SEPARATOR + index + SEPARATOR + (isDone ? "1" : "0"));
+    }
+
+    /**
+     * Appends a single record for several tasks removed together.
+     *
+     * @param indices The zero-based indices the tasks had, in ascending order.
+     * @throws IOException If the record cannot be written.
+     */
+    void appendDeleteAll(int[] indices) throws IOException {
+        append(DELETE + SEPARATOR + join(indices));
+    }
+
+    /**
+     * Appends a single record for several tasks marked or unmarked together.
+     *
+     * @param indices The zero-based indices of the tasks, in ascending order.
+     * @param isDone The new completion status of the tasks.
+     * @throws IOException If the record cannot be written.
+     */
+    void appendMarkAll(int[] indices, boolean isDone) throws IOException {
+        append(MARK + SEPARATOR + join(indices) + SEPARATOR + (isDone ? "1" : "0"));
+    }
+
+    /**
+     * Appends a record for a change in description.
+     *
+     * @param index The zero-based index of the task.
+     * @param description The new description of the task.
+     * @throws IOException If the record cannot be written.
+     */
+    void appendUpdate(int index, String description) throws IOException {
+        append(UPDATE + SEPARATOR + index + SEPARATOR + description);
+    }
+
+    /**
+     * Replays every segment that is newer than the snapshot, in the order the records were written.
+     * Segments already folded into the snapshot are deleted, and appends continue on the newest segment.
+     * Malformed records are skipped, and a last record left without its line break by a crash mid-write
+     * is cut off, so that it is not applied half-written and the next record does not run on from it.
+     *
+     * @param tasks The tasks loaded from the snapshot, modified in place.
+     * @param snapshotGeneration The generation recorded in the snapshot header.
+     * @return The number of records that were applied.
+     * @throws IOException If a segment exists but cannot be read.
+     */
+    int replay(ArrayList<Task> tasks, long snapshotGeneration) throws IOException {
+        int applied = 0;
+        long newest = snapshotGeneration;
+        for (var entry : listSegments().entrySet()) {
+            if (entry.getKey() < snapshotGeneration) {
+                delete(entry.getValue());
+                continue;
+            }
+            dropTornRecord(entry.getValue());
+            try (BufferedReader reader = new BufferedReader(new FileReader(entry.getValue()))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (apply(line, tasks)) {
+                        applied++;
+                    }
+                }
+            }
+            newest = entry.getKey();
+        }
+        startSegment(newest);
+        records = applied;
+        return applied;
+    }
+
+    /**
+     * Freezes the active segment and starts a new one, so that the frozen segment can be folded
+     * into a snapshot while new records keep being appended.
+     *
+     * @return The generation of the segment that was frozen.
+     */
+    long rotate() {
+        long frozen = generation;
+        startSegment(generation + 1);
+        return frozen;
+    }
+
+    /**
+     * Deletes every segment up to and including the given generation.
+     * Only touches frozen segments, so it is safe to call from the compaction thread.
+     *
+     * @param lastFolded The newest generation whose records are now part of the snapshot.
+     * @return The number of bytes freed.
+     */
+    long discardThrough(long lastFolded) {
+        long freed = 0;
+        for (File segment : listSegments().headMap(lastFolded, true).values()) {
+            freed += segment.length();
+            delete(segment);
+        }
+        return freed;
+    }
+
+    /**
+     * @return One past the highest id of the tasks added by the replayed records, even those deleted later,
+     *     or 0 if none had an id.
+     */
+    long getNextId() {
+        return nextId;
+    }
+
+    /**
+     * @return The generation of the segment that new records are appended to.
+     */
+    long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * @return The number of records not yet folded into a snapshot.
+     */
+    int getRecordCount() {
+        return records;
+    }
+
+    /**
+     * @return The size in bytes of the active segment.
+     */
+    long getActiveBytes() {
+        return active.length();
+    }
+
+    /**
+     * @return The number of milliseconds since the active segment was started.
+     */
+    long getActiveAgeMillis() {
+        return System.currentTimeMillis() - startedAt;
+    }
+
+    private void startSegment(long newGeneration) {
+        generation = newGeneration;
+        active = segmentFile(newGeneration);
+        records = 0;
+        startedAt = System.currentTimeMillis();
+    }
+
+    private File segmentFile(long segmentGeneration) {
+        return new File(dataFile.getPath() + "." + segmentGeneration + SEGMENT_SUFFIX);
+    }
+
+    private TreeMap<Long, File> listSegments() {
+        TreeMap<Long, File> segments = new TreeMap<>();
+        File[] siblings = dataFile.getParentFile().listFiles();
+        if (siblings == null) {
+            return segments;
+        }
+        for (File f : siblings) {
+            long segmentGeneration = generationOf(dataFile.getName(), f.getName());
+            if (segmentGeneration >= 0) {
+                segments.put(segmentGeneration, f);
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * Returns the generation of the journal segment with the given name, if it is a segment of the data file.
+     *
+     * @param dataFileName The name of the data file.
+     * @param name The name of a file beside the data file.
+     * @return The generation of the segment, or -1 if the file is not one of the data file's segments.
+     */
+    static long generationOf(String dataFileName, String name) {
+        String prefix = dataFileName + ".";
+        if (!name.startsWith(prefix) || !name.endsWith(SEGMENT_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(prefix.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            // Not one of our segments, e.g. "howly.txt.backup.log"
+            return -1;
+        }
+    }
+
+    private void append(String record) throws IOException {
+        File parent = active.getParentFile();
+        if (!parent.exists()) {
+            parent.mkdirs();
+        }
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(active, true))) {
+            writer.write(record);
+            writer.write(System.lineSeparator());
+        }
+        records++;
+    }
+
+    private static void delete(File segment) {
+        if (segment.exists() && !segment.delete()) {
+            System.out.println(" Warning: Unable to delete journal segment " + segment.getPath());
+        }
+    }
+
+    private static void dropTornRecord(File segment) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            long end = file.length();
+            while (end > 0) {
+                file.seek(end - 1);
+                if (file.read() == '\n') {
+                    break;
+                }
+                end--;
+            }
+            if (end < file.length()) {
+                System.out.println(" Warning: Skipping torn journal record at the end of " + segment.getName());
+                file.setLength(end);
+            }
+        }
+    }
+
+    private boolean apply(String record, ArrayList<Task> tasks) {
+        String[] parts = record.split(" \\| ", 3);
+        try {
+            switch (parts[0]) {
+            case ADD:
+                Task task = Storage.parseTask(record.substring(ADD.length() + SEPARATOR.length()));
+                if (task == null) {
+                    return false;
+                }
+                tasks.add(task);
+                nextId = Math.max(nextId, task.getId() + 1);
+                return true;
+            case DELETE:
+                removeAll(tasks, parseIndices(parts[1], tasks.size()));
+                return true;
+            case MARK:
+                for (int index : parseIndices(parts[1], tasks.size())) {
+                    if (parts[2].equals("1")) {
+                        tasks.get(index).markAsDone();
+                    } else {
+                        tasks.get(index).markAsNotDone();
+                    }
+                }
+                return true;
+            case UPDATE:
+                String description = DescriptionPool.shared().intern(parts[2]);
+                tasks.get(Integer.parseInt(parts[1])).setDescription(description);
+                return true;
+            default:
+                return false;
+            }
+        } catch (RuntimeException e) {
+            System.out.println(" Warning: Skipping malformed journal record: " + record);
+            return false;
+        }
+    }
+
+    private static String join(int[] indices) {
+        StringBuilder joined = new StringBuilder();
+        for (int index : indices) {
+            if (joined.length() > 0) {
+                joined.append(',');
+            }
+            joined.append(index);
+        }
+        return joined.toString();
+    }
+
+    /**
+     * Parses a comma-separated list of indices, checking that they ascend and are within the list,
+     * so that a damaged record is rejected before any of it is applied.
+     */
+    private static int[] parseIndices(String field, int size) {
+        String[] numbers = field.split(",");
+        int[] indices = new int[numbers.length];
+        for (int i = 0; i < numbers.length; i++) {
+            indices[i] = Integer.parseInt(numbers[i]);
+            if (indices[i] >= size || (i > 0 ? indices[i] <= indices[i - 1] : indices[i] < 0)) {
+                throw new IllegalArgumentException("Invalid index " + indices[i]);
+            }
+        }
+        return indices;
+    }
+
+    /**
+     * Removes the tasks at the given ascending indices, moving each remaining task at most once.
+     */
+    private static void removeAll(ArrayList<Task> tasks, int[] indices) {
+        int write = indices[0];
+        int next = 0;
+        for (int read = indices[0]; read < tasks.size(); read++) {
+            if (next < indices.length && indices[next] == read) {
+                next++;
+            } else {
+                tasks.set(write++, tasks.get(read));
+            }
+        }
+        tasks.subList(write, tasks.size()).clear();
+    }
+}
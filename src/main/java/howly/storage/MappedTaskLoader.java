@@ -0,0 +1,322 @@
+package howly.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import howly.tasks.Deadline;
+import howly.tasks.DescriptionPool;
+import howly.tasks.Event;
+import howly.tasks.Task;
+import howly.tasks.ToDo;
+
+/**
+ * Loads a snapshot in the {@link Task#toFileFormat()} layout by memory-mapping the file and
+ * scanning it byte by byte.
+ * <p>
+ * Unlike a {@code Scanner} with a regex split, no per-line or per-field strings are created:
+ * the type and status are read as single bytes, dates are decoded straight from their digits,
+ * and only the description is turned into a {@code String}, through the shared {@link DescriptionPool}
+ * so that repeated descriptions are not copied. Because dates have a fixed width,
+ * they are located from the end of the line, so descriptions may themselves contain " | ".
+ * A leading id is decoded from its digits, and lines without one are left for the task list to number.
+ * </p>
+ * <p>
+ * Large files are split into line-aligned chunks that are decoded in parallel on the common
+ * fork-join pool, and the per-chunk lists are then concatenated in file order.
+ * </p>
+ */
+class MappedTaskLoader {
+    private static final int DATE_LENGTH = 10;
+    private static final int SEPARATOR_LENGTH = 3;
+    private static final int DESCRIPTION_OFFSET = 8;
+    private static final long MAX_REGION = Integer.MAX_VALUE;
+    private static final int MIN_CHUNK = 1 << 20;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final File file;
+    private final int parallelism;
+    private long generation;
+    private long nextId;
+
+    MappedTaskLoader(File file) {
+        this(file, ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * @param file The snapshot file to load.
+     * @param parallelism The number of threads to size the chunks for; 1 decodes on the calling thread.
+     */
+    MappedTaskLoader(File file, int parallelism) {
+        this.file = file;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Reads every task in the file, in order, into the given list.
+     * Lines with an unknown type marker are skipped; a line that is missing fields or holds an
+     * invalid date stops the load, keeping the tasks read so far.
+     *
+     * @param into The list the decoded tasks are appended to.
+     * @return {@code true} if the whole file was read, {@code false} if a corrupted line was found.
+     * @throws IOException If the file cannot be mapped.
+     */
+    boolean load(ArrayList<Task> into) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long regionStart = 0;
+            while (regionStart < size) {
+                int regionLength = (int) Math.min(MAX_REGION, size - regionStart);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, regionStart, regionLength);
+                boolean isLastRegion = regionStart + regionLength == size;
+                // A line that runs past the end of a region is decoded as part of the next region
+                int usable = isLastRegion ? regionLength : lastLineEnd(buffer, regionLength);
+                if (usable == 0) {
+                    throw new IOException("Line longer than " + MAX_REGION + " bytes in " + file);
+                }
+                if (!loadRegion(buffer, usable, into)) {
+                    return false;
+                }
+                regionStart += usable;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The journal generation found in the snapshot header, or 0 if there is none.
+     */
+    long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * @return The id the next added task gets, as found in the snapshot header, or 0 if there is none.
+     */
+    long getNextId() {
+        return nextId;
+    }
+
+    /**
+     * Decodes the first {@code length} bytes of the region, chunk by chunk, in file order.
+     *
+     * @return {@code false} if a corrupted line was found.
+     */
+    private boolean loadRegion(MappedByteBuffer buffer, int length, ArrayList<Task> into) {
+        int chunkSize = Math.max(MIN_CHUNK, length / (parallelism * CHUNKS_PER_THREAD));
+        ArrayList<ChunkParser> chunks = new ArrayList<>();
+        int start = 0;
+        while (start < length) {
+            int end = length - start <= chunkSize ? length : nextLineStart(buffer, start + chunkSize, length);
+            chunks.add(new ChunkParser(buffer, start, end));
+            start = end;
+        }
+
+        if (chunks.size() == 1) {
+            chunks.get(0).invoke();
+        } else {
+            chunks.forEach(ChunkParser::fork);
+        }
+        for (ChunkParser chunk : chunks) {
+            into.addAll(chunk.join());
+            if (chunk.generation != 0) {
+                generation = chunk.generation;
+            }
+            if (chunk.nextId != 0) {
+                nextId = chunk.nextId;
+            }
+            if (chunk.isCorrupted) {
+                // Later chunks may have decoded fine, but nothing past the damage is trusted
+                chunks.forEach(c -> c.cancel(false));
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int lastLineEnd(MappedByteBuffer buffer, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (buffer.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    private static int nextLineStart(MappedByteBuffer buffer, int from, int length) {
+        for (int i = from - 1; i < length; i++) {
+            if (buffer.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Locates a " | yyyy-mm-dd" field that ends at {@code end}.
+     *
+     * @return The offset of the first digit of the date.
+     */
+    private static int dateStart(MappedByteBuffer buffer, int descStart, int end) {
+        int dateStart = end - DATE_LENGTH;
+        if (dateStart - SEPARATOR_LENGTH < descStart || !isSeparator(buffer, dateStart - SEPARATOR_LENGTH)) {
+            throw new IllegalArgumentException("Missing date field");
+        }
+        return dateStart;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static boolean isSeparator(MappedByteBuffer buffer, int at) {
+        return buffer.get(at) == ' ' && buffer.get(at + 1) == '|' && buffer.get(at + 2) == ' ';
+    }
+
+    private static LocalDate date(MappedByteBuffer buffer, int at) {
+        if (buffer.get(at + 4) != '-' || buffer.get(at + 7) != '-') {
+            throw new DateTimeException("Expected yyyy-mm-dd");
+        }
+        return LocalDate.of(digits(buffer, at, 4), digits(buffer, at + 5, 2), digits(buffer, at + 8, 2));
+    }
+
+    private static int digits(MappedByteBuffer buffer, int at, int count) {
+        int value = 0;
+        for (int i = at; i < at + count; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new DateTimeException("Expected a digit");
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Decodes the lines in one line-aligned byte range of the mapped file.
+     * Only absolute reads are made on the shared buffer, so chunks can run concurrently.
+     */
+    private static class ChunkParser extends RecursiveTask<ArrayList<Task>> {
+        private static final long serialVersionUID = 1L;
+
+        private final MappedByteBuffer buffer;
+        private final int start;
+        private final int end;
+        private final Charset charset = Charset.defaultCharset();
+        private byte[] scratch = new byte[256];
+        private long generation;
+        private long nextId;
+        private boolean isCorrupted;
+
+        ChunkParser(MappedByteBuffer buffer, int start, int end) {
+            this.buffer = buffer;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected ArrayList<Task> compute() {
+            ArrayList<Task> tasks = new ArrayList<>();
+            int lineStart = start;
+            while (lineStart < end) {
+                int lineEnd = lineStart;
+                while (lineEnd < end && buffer.get(lineEnd) != '\n') {
+                    lineEnd++;
+                }
+                int contentEnd = lineEnd;
+                if (contentEnd > lineStart && buffer.get(contentEnd - 1) == '\r') {
+                    contentEnd--;
+                }
+                try {
+                    Task t = decode(lineStart, contentEnd);
+                    if (t != null) {
+                        tasks.add(t);
+                    }
+                } catch (IllegalArgumentException | DateTimeException e) {
+                    isCorrupted = true;
+                    break;
+                }
+                lineStart = lineEnd + 1;
+            }
+            return tasks;
+        }
+
+        /**
+         * Decodes one line, given as the byte range [lineStart, lineEnd) of the buffer.
+         *
+         * @return The task, or {@code null} if the line is blank, a header, or of an unknown type.
+         * @throws IllegalArgumentException If the line is missing fields.
+         * @throws DateTimeException If a date field is not a valid yyyy-mm-dd date.
+         */
+        private Task decode(int lineStart, int lineEnd) {
+            if (lineEnd > lineStart && buffer.get(lineStart) == '#') {
+                String line = string(lineStart, lineEnd);
+                if (line.startsWith(Storage.GENERATION_HEADER)) {
+                    generation = Long.parseLong(line.substring(Storage.GENERATION_HEADER.length()).trim());
+                } else if (line.startsWith(Storage.NEXT_ID_HEADER)) {
+                    nextId = Long.parseLong(line.substring(Storage.NEXT_ID_HEADER.length()).trim());
+                }
+                return null;
+            }
+            long id = 0;
+            if (lineEnd > lineStart && isDigit(buffer.get(lineStart))) {
+                int idEnd = lineStart;
+                while (idEnd < lineEnd && isDigit(buffer.get(idEnd))) {
+                    id = id * 10 + buffer.get(idEnd) - '0';
+                    idEnd++;
+                }
+                if (lineEnd - idEnd < SEPARATOR_LENGTH || !isSeparator(buffer, idEnd)) {
+                    throw new IllegalArgumentException("Missing separator after id");
+                }
+                lineStart = idEnd + SEPARATOR_LENGTH;
+            }
+            if (lineEnd - lineStart < 1 + SEPARATOR_LENGTH || !isSeparator(buffer, lineStart + 1)) {
+                return null;
+            }
+            byte type = buffer.get(lineStart);
+            if (type != 'T' && type != 'D' && type != 'E') {
+                return null;
+            }
+            if (lineEnd - lineStart < DESCRIPTION_OFFSET || !isSeparator(buffer, lineStart + 5)) {
+                throw new IllegalArgumentException("Missing status field");
+            }
+            boolean isDone = buffer.get(lineStart + 4) == '1';
+            int descStart = lineStart + DESCRIPTION_OFFSET;
+
+            Task t;
+            if (type == 'T') {
+                t = new ToDo(string(descStart, lineEnd));
+            } else if (type == 'D') {
+                int byStart = dateStart(buffer, descStart, lineEnd);
+                t = new Deadline(string(descStart, byStart - SEPARATOR_LENGTH), date(buffer, byStart));
+            } else {
+                int toStart = dateStart(buffer, descStart, lineEnd);
+                int fromStart = dateStart(buffer, descStart, toStart - SEPARATOR_LENGTH);
+                t = new Event(string(descStart, fromStart - SEPARATOR_LENGTH),
+                        date(buffer, fromStart), date(buffer, toStart));
+            }
+            if (isDone) {
+                t.markAsDone();
+            }
+            t.setId(id);
+            return t;
+        }
+
+        private String string(int from, int to) {
+            int length = to - from;
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            buffer.get(from, scratch, 0, length);
+            return DescriptionPool.shared().intern(scratch, 0, length, charset);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package howly.storage;
+
+/**
+ * Represents what a snapshot records besides its tasks: the journal generation it includes, and the id
+ * the next added task gets. The next id is a high-water mark, so it stays past the id of a deleted task
+ * even when that task was the last one, and ids are never given out twice.
+ */
+class SnapshotHeader {
+    private final long generation;
+    private final long nextId;
+
+    /**
+     * @param generation The journal generation the snapshot includes, or 0 if there is none.
+     * @param nextId The id the next added task gets, or 0 if the snapshot does not record it.
+     */
+    SnapshotHeader(long generation, long nextId) {
+        this.generation = generation;
+        this.nextId = nextId;
+    }
+
+    long getGeneration() {
+        return generation;
+    }
+
+    long getNextId() {
+        return nextId;
+    }
+}
@@ -1,13 +1,23 @@
 package howly.storage;
 
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
-import java.util.Scanner;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import howly.common.HowlyException;
+import howly.common.TaskList;
 import howly.tasks.Deadline;
+import howly.tasks.DescriptionPool;
+import howly.tasks.DescriptionPoolStats;
 import howly.tasks.Event;
 import howly.tasks.Task;
 import howly.tasks.ToDo;
@@ -16,20 +26,139 @@ import howly.tasks.ToDo;
  * Manages persistent data storage for the Howly application.
  * This class handles reading tasks from and writing tasks to a local hard disk file,
  * ensuring that the task list is preserved between application sessions.
+ * <p>
+ * In journaled mode, single-task changes are appended to a small log file beside the data file
+ * instead of rewriting the whole data file, and the log is replayed on top of the data file on load.
+ * Once the log grows past a threshold, it is folded into a fresh data file in the background.
+ * </p>
+ * <p>
+ * Snapshots are written in the configured {@link StorageFormat}; loading detects the format from the file.
+ * </p>
+ * <p>
+ * In write-behind mode, changes are not written by the caller at all: a background writer saves the
+ * whole list once a burst of changes is over, and {@link #flush()} forces any pending save to disk.
+ * </p>
+ * <p>
+ * Between {@link #beginBatch()} and {@link #endBatch(List)}, changes are not written one by one;
+ * the whole list is saved once when the batch ends, or not at all if it is aborted.
+ * </p>
+ * <p>
+ * In {@link StorageFormat#MAPPED mapped} mode, the list returned by {@link #loadList()} lives in the data
+ * file itself and writes every change into it as it happens, so each save only forces the changed pages
+ * to disk instead of rewriting the file. Saves must then be given that same list.
+ * </p>
+ * <p>
+ * Journal records name tasks by position, so each change must be persisted before the next change is
+ * applied to the list, and changes must therefore come from one thread at a time. {@code Howly} runs
+ * commands one at a time for this reason.
+ * </p>
  */
 public class Storage {
+    static final String GENERATION_HEADER = "# generation ";
+    static final String NEXT_ID_HEADER = "# next-id ";
+
     private final String filePath;
+    private final StorageFormat format;
+    private final Journal journal;
+    private final Compactor compactor;
+    private final WriteBehindWriter writer;
+    private final Thread flushOnExit;
+    /** The id the next added task gets as far as this storage knows, saved with every snapshot. */
+    private final AtomicLong nextId = new AtomicLong();
+    private TaskList mappedList;
+    private int batchDepth;
+    private boolean isBatchDirty;
 
+    /**
+     * Creates a storage that rewrites the whole data file on every change.
+     *
+     * @param filePath The path to the data file.
+     */
     public Storage(String filePath) {
+        this(filePath, false);
+    }
+
+    /**
+     * Creates a storage for the given data file.
+     *
+     * @param filePath The path to the data file.
+     * @param isJournaled Whether single-task changes are appended to a journal instead of rewriting the file.
+     */
+    public Storage(String filePath, boolean isJournaled) {
+        this(filePath, isJournaled, StorageFormat.TEXT);
+    }
+
+    /**
+     * Creates a storage for the given data file that writes snapshots in the given format.
+     *
+     * @param filePath The path to the data file.
+     * @param isJournaled Whether single-task changes are appended to a journal instead of rewriting the file.
+     * @param format The layout snapshots are written in.
+     */
+    public Storage(String filePath, boolean isJournaled, StorageFormat format) {
+        this(filePath, isJournaled, format, -1);
+    }
+
+    /**
+     * Creates a write-behind storage, which saves the whole data file on a background thread once
+     * the list has gone unchanged for the debounce window. Pending changes are also flushed when
+     * the JVM shuts down, unless the storage was closed first.
+     *
+     * @param filePath The path to the data file.
+     * @param format The layout the data file is written in.
+     * @param debounceMillis How long the list must go unchanged before it is saved.
+     */
+    public Storage(String filePath, StorageFormat format, long debounceMillis) {
+        this(filePath, false, format, debounceMillis);
+    }
+
+    /**
+     * Creates the journaled storage an application keeps its data file in. Snapshots are written in the
+     * format the data file is already in, so that a file converted with {@link FormatConverter} stays in its
+     * new format, and a missing or empty file starts as text. A mapped data file is opened in mapped mode.
+     *
+     * @param filePath The path to the data file.
+     * @return The storage for the data file.
+     */
+    public static Storage forDataFile(String filePath) {
+        return new Storage(filePath, true, formatOf(new File(filePath)));
+    }
+
+    private Storage(String filePath, boolean isJournaled, StorageFormat format, long debounceMillis) {
         this.filePath = filePath;
+        this.format = format;
+        boolean isMapped = format == StorageFormat.MAPPED;
+        if (debounceMillis >= 0 && !isMapped) {
+            this.writer = new WriteBehindWriter(new File(filePath).getAbsoluteFile(), format, nextId::get,
+                    debounceMillis);
+            this.flushOnExit = new Thread(writer::close, "howly-flush-on-exit");
+            Runtime.getRuntime().addShutdownHook(flushOnExit);
+        } else {
+            this.writer = null;
+            this.flushOnExit = null;
+        }
+        if (isJournaled && !isMapped) {
+            this.journal = new Journal(filePath);
+            this.compactor = new Compactor(new File(filePath).getAbsoluteFile(), format, journal, nextId::get,
+                    Compactor.DEFAULT_RECORD_THRESHOLD, Compactor.DEFAULT_BYTE_THRESHOLD,
+                    Compactor.DEFAULT_MAX_AGE_MILLIS);
+        } else {
+            this.journal = null;
+            this.compactor = null;
+        }
     }
 
     /**
      * Loads tasks from the data file.
      * <p>
      * If the file does not exist, an empty list is returned. If the file is corrupted
-     * or uses an incorrect format, the method catches the exception and returns
-     * a fresh list to avoid application crashes.
+     * or uses an incorrect format, the method keeps the tasks read before the damage
+     * to avoid application crashes. The file is memory-mapped and decoded byte by byte,
+     * as text or binary depending on its leading bytes.
+     * In journaled mode, the journal is replayed on top of the tasks read from the data file.
+     * Tasks saved before tasks had ids are numbered first, so that they keep the same ids
+     * whatever the journal deletes. The next id saved in the snapshot, and any higher id added by the
+     * journal, is kept for {@link #loadList()}.
      * </p>
      *
      * @return An {@code ArrayList} of {@code Task} objects reconstructed from the file.
@@ -37,65 +166,581 @@ public class Storage {
      */
     public ArrayList<Task> load() throws HowlyException {
         ArrayList<Task> loadedTasks = new ArrayList<>();
+        long generation = 0;
         File f = new File(filePath);
-        if (!f.exists()) {
-            return loadedTasks;
-        }
-
-        try (Scanner s = new Scanner(f)) {
-            while (s.hasNext()) {
-                String line = s.nextLine();
-                String[] parts = line.split(" \\| ");
-                Task t;
-                // parts[0] is Type, parts[1] is isDone, parts[2] is task description
-                switch (parts[0]) {
-                case "T":
-                    t = new ToDo(parts[2]);
-                    break;
-                case "D":
-                    t = new Deadline(parts[2], parts[3]);
-                    break;
-                case "E":
-                    t = new Event(parts[2], parts[3], parts[4]);
-                    break;
-                default:
-                    continue;
-                }
-                if (parts[1].equals("1")) {
-                    t.markAsDone();
-                }
-                loadedTasks.add(t);
+        if (f.exists()) {
+            try {
+                SnapshotHeader header = loadSnapshot(f, loadedTasks);
+                generation = header.getGeneration();
+                noteNextId(header.getNextId());
+            } catch (IOException e) {
+                System.out.println(" Warning: Data file corrupted or unreadable. Starting with fresh list.");
+            }
+        }
+        numberTasks(loadedTasks);
+
+        if (journal != null) {
+            try {
+                journal.replay(loadedTasks, generation);
+                noteNextId(journal.getNextId());
+            } catch (IOException e) {
+                System.out.println(" Warning: Journal unreadable, changes since the last save are lost.");
             }
-        } catch (IOException | ArrayIndexOutOfBoundsException e) {
-            System.out.println(" Warning: Data file corrupted or unreadable. Starting with fresh list.");
         }
         return loadedTasks;
     }
 
+    /**
+     * Loads the tasks into a task list, as by {@link #load()}, that carries on from the saved next id,
+     * so that the ids of tasks deleted from the end of the list are not given out again.
+     * <p>
+     * In mapped mode, the data file is instead opened as a mapped task list, or created if missing,
+     * without decoding any task. Later saves force that list's changes to disk.
+     * </p>
+     *
+     * @return The task list.
+     * @throws HowlyException If a major error occurs during file access, or in mapped mode if the data file
+     *         is in another format and must be converted first.
+     */
+    public TaskList loadList() throws HowlyException {
+        if (format != StorageFormat.MAPPED) {
+            ArrayList<Task> loaded = load();
+            return new TaskList(loaded, nextId.get());
+        }
+        Path path = Path.of(filePath);
+        try {
+            if (Files.exists(path) && Files.size(path) > 0 && !TaskList.isMappedFile(path)) {
+                throw new HowlyException("Data file is not in the mapped format. Convert it with FormatConverter: "
+                        + filePath);
+            }
+            Path parent = path.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            mappedList = TaskList.mapped(path);
+            return mappedList;
+        } catch (IOException e) {
+            throw new HowlyException("Could not open the data file: " + e.getMessage());
+        }
+    }
+
     /**
      * Saves the current list of tasks to the data file.
      * <p>
      * This method ensures the parent directory exists before writing. It iterates
      * through the provided task list and converts each task into its machine-readable
      * file format using {@link Task#toFileFormat()}.
+     * In journaled mode, this is a compaction that the caller waits for, so the journal is folded
+     * into the data file before returning. In write-behind mode, the background writer is only told that
+     * the list changed, and this returns at once; the writer copies the list when it saves, so the list
+     * must be safe to read from another thread, as {@link TaskList#getTasks()} is. In mapped mode, the list opened by
+     * {@link #loadList()} already holds every change, so its changed pages are only forced to disk.
      * </p>
      *
-     * @param tasks The {@code ArrayList} of tasks to be persisted to disk.
+     * @param tasks The list of tasks to be persisted to disk.
      * @throws HowlyException If an I/O error occurs while writing to the file.
      */
-    public void save(ArrayList<Task> tasks) throws HowlyException {
+    public void save(List<Task> tasks) throws HowlyException {
+        if (mappedList != null) {
+            mappedList.force();
+            return;
+        }
+        if (writer != null) {
+            writer.signal(tasks);
+            return;
+        }
+        if (journal != null) {
+            compactor.compact(tasks);
+            compactor.awaitIdle();
+            return;
+        }
         try {
-            File f = new File(filePath);
-            if (!f.getParentFile().exists()) {
-                f.getParentFile().mkdirs();
+            writeSnapshot(new File(filePath), new ArrayList<>(tasks), 0, nextId.get(), format);
+        } catch (IOException e) {
+            System.out.println(" Error saving tasks: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the statistics of the background compactions performed so far.
+     *
+     * @return The compaction statistics, all zero if this storage is not journaled.
+     */
+    public CompactionStats getCompactionStats() {
+        return compactor == null ? new CompactionStats(0, 0, 0, 0, 0, 0) : compactor.getStats();
+    }
+
+    /**
+     * Returns the statistics of the background saves performed so far.
+     *
+     * @return The write-behind statistics, all zero if this storage is not in write-behind mode.
+     */
+    public WriteBehindStats getWriteBehindStats() {
+        return writer == null ? new WriteBehindStats(0, 0, 0, 0, 0, 0, 0) : writer.getStats();
+    }
+
+    /**
+     * Returns the statistics of the shared description pool, which every load and command interns
+     * descriptions through, so they cover the whole process rather than this storage alone.
+     *
+     * @return The description pool statistics.
+     */
+    public DescriptionPoolStats getDescriptionPoolStats() {
+        return DescriptionPool.shared().getStats();
+    }
+
+    /**
+     * Blocks until every change persisted so far is durably on disk, skipping any debounce wait.
+     */
+    public void flush() {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (compactor != null) {
+            compactor.awaitIdle();
+        }
+        if (mappedList != null) {
+            mappedList.force();
+        }
+    }
+
+    /**
+     * Holds back every change persisted from now on until the matching {@link #endBatch(List)}
+     * or {@link #abortBatch()}. Batches may be nested; only the outermost one writes.
+     */
+    public void beginBatch() {
+        batchDepth++;
+    }
+
+    /**
+     * Ends a batch, saving the whole list once if the outermost batch persisted any change.
+     *
+     * @param tasks The full list of tasks, with every change of the batch applied.
+     * @throws HowlyException If an I/O error occurs while writing.
+     */
+    public void endBatch(List<Task> tasks) throws HowlyException {
+        assert batchDepth > 0 : "No batch to end";
+        batchDepth--;
+        if (batchDepth == 0 && isBatchDirty) {
+            isBatchDirty = false;
+            save(tasks);
+        }
+    }
+
+    /**
+     * Ends a batch without writing anything. The caller must have undone the batch's changes.
+     */
+    public void abortBatch() {
+        assert batchDepth > 0 : "No batch to abort";
+        batchDepth--;
+        if (batchDepth == 0) {
+            isBatchDirty = false;
+        }
+    }
+
+    /**
+     * Writes any pending change, waits for any running background compaction to finish
+     * and releases the background threads and the shutdown hook.
+     */
+    public void close() {
+        if (writer != null) {
+            writer.close();
+            try {
+                Runtime.getRuntime().removeShutdownHook(flushOnExit);
+            } catch (IllegalStateException e) {
+                // Already shutting down, and the hook has flushed or is flushing
             }
-            FileWriter fw = new FileWriter(f);
-            for (Task t : tasks) {
-                fw.write(t.toFileFormat() + System.lineSeparator());
+        }
+        if (compactor != null) {
+            compactor.close();
+        }
+        if (mappedList != null) {
+            mappedList.force();
+        }
+    }
+
+    /**
+     * Exports every task of the list to a file for other tools to read, streaming one record at a time so
+     * that memory use does not grow with the list. The file is written beside the target and renamed into
+     * place, so readers never see a partial export. Targets that would replace the data file, one of its
+     * journal segments or the file its snapshots are written through are refused.
+     *
+     * @param tasks The tasks to export.
+     * @param target The file to write, replaced if it exists.
+     * @param format The format to write the tasks in.
+     * @return The number of tasks and bytes written, the time taken and the resulting throughput.
+     * @throws HowlyException If the target is one of the storage's own files, or the file cannot be written.
+     */
+    public ExportStats export(TaskList tasks, Path target, ExportFormat format) throws HowlyException {
+        Path absolute = target.toAbsolutePath();
+        Path temp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        if (isStorageFile(absolute) || isStorageFile(temp)) {
+            throw new HowlyException("Cannot export over the data file or its journal: " + target);
+        }
+        try {
+            Files.createDirectories(absolute.getParent());
+            ExportStats stats = TaskExporter.export(tasks, temp, format);
+            moveIntoPlace(temp, absolute);
+            return stats;
+        } catch (IOException e) {
+            temp.toFile().delete();
+            throw new HowlyException("Could not export tasks to " + target + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns whether the file is the data file, one of its journal segments or its temporary snapshot,
+     * following symbolic links and "." and ".." in the paths to both.
+     */
+    private boolean isStorageFile(Path file) {
+        Path data = realPathOf(Path.of(filePath));
+        Path candidate = realPathOf(file);
+        if (!data.getParent().equals(candidate.getParent())) {
+            return false;
+        }
+        String dataName = data.getFileName().toString();
+        String name = candidate.getFileName().toString();
+        return name.equals(dataName) || name.equals(dataName + ".tmp") || Journal.generationOf(dataName, name) >= 0;
+    }
+
+    /**
+     * Resolves a file to its real path, or a file that does not exist yet to the real path of its directory.
+     */
+    private static Path realPathOf(Path file) {
+        Path absolute = file.toAbsolutePath().normalize();
+        Path parent = absolute.getParent();
+        try {
+            if (Files.exists(absolute)) {
+                return absolute.toRealPath();
             }
-            fw.close();
+            return parent.toRealPath().resolve(absolute.getFileName());
+        } catch (IOException e) {
+            return absolute;
+        }
+    }
+
+    /**
+     * Persists a task that was just appended to the end of the list.
+     *
+     * @param tasks The full list of tasks, already containing the new task.
+     * @param task The task that was added.
+     * @throws HowlyException If an I/O error occurs while writing.
+     */
+    public void saveAdd(List<Task> tasks, Task task) throws HowlyException {
+        noteNextId(task.getId() + 1);
+        if (batchDepth > 0) {
+            isBatchDirty = true;
+            return;
+        }
+        if (journal == null) {
+            save(tasks);
+            return;
+        }
+        try {
+            journal.appendAdd(task);
+        } catch (IOException e) {
+            System.out.println(" Error saving tasks: " + e.getMessage());
+        }
+        compactor.maybeCompact(tasks);
+    }
+
+    /**
+     * Persists the removal of the task at the given index.
+     *
+     * @param tasks The full list of tasks, with the task already removed.
+     * @param index The zero-based index the task was removed from.
+     * @throws HowlyException If an I/O error occurs while writing.
+     */
+    public void saveDelete(List<Task> tasks, int index) throws HowlyException {
+        if (batchDepth > 0) {
+            isBatchDirty = true;
+            return;
+        }
+        if (journal == null) {
+            save(tasks);
+            return;
+        }
+        try {
+            journal.appendDelete(index);
+        } catch (IOException e) {
+            System.out.println(" Error saving tasks: " + e.getMessage());
+        }
+        compactor.maybeCompact(tasks);
+    }
+
+    /**
+     * Persists the removal of several tasks at once, as a single journal record or a single save.
+     *
+     * @param tasks The full list of tasks, with the tasks already removed.
+     * @param indices The zero-based indices the tasks had, in ascending order.
+     * @throws HowlyException If an I/O error occurs while writing.
+     */
+    public void saveDeleteAll(List<Task> tasks, int[] indices) throws HowlyException {
+        if (batchDepth > 0) {
+            isBatchDirty = true;
+            return;
+        }
+        if (journal == null) {
+            save(tasks);
+            return;
+        }
+        try {
+            journal.appendDeleteAll(indices);
+        } catch (IOException e) {
+            System.out.println(" Error saving tasks: " + e.getMessage());
+        }
+        compactor.maybeCompact(tasks);
+    }
+
+    /**
+     * Persists a change in completion status of several tasks at once, as a single journal record
+     * or a single save.
+     *
+     * @param tasks The full list of tasks, with the changes already applied.
+     * @param indices The zero-based indices of the tasks, in ascending order.
+     * @param isDone The new completion status.
+     * @throws HowlyException If an I/O error occurs while writing.
+     */
+    public void saveMarkAll(List<Task> tasks, int[] indices, boolean isDone) throws HowlyException {
+        if (batchDepth > 0) {
+            isBatchDirty = true;
+            return;
+        }
+        if (journal == null) {
+            save(tasks);
+            return;
+        }
+        try {
+            journal.appendMarkAll(indices, isDone);
+        } catch (IOException e) {
+            System.out.println(" Error saving tasks: " + e.getMessage());
+        }
+        compactor.maybeCompact(tasks);
+    }
+
+    /**
+     * Persists a change in completion status of the task at the given index.
+     *
+     * @param tasks The full list of tasks, with the change already applied.
+     * @param index The zero-based index of the task.
+     * @param isDone The new completion status.
+     * @throws HowlyException If an I/O error occurs while writing.
+     */
+    public void saveMark(List<Task> tasks, int index, boolean isDone) throws HowlyException {
+        if (batchDepth > 0) {
+            isBatchDirty = true;
+            return;
+        }
+        if (journal == null) {
+            save(tasks);
+            return;
+        }
+        try {
+            journal.appendMark(index, isDone);
+        } catch (IOException e) {
+            System.out.println(" Error saving tasks: " + e.getMessage());
+        }
+        compactor.maybeCompact(tasks);
+    }
+
+    /**
+     * Persists a change in description of the task at the given index.
+     *
+     * @param tasks The full list of tasks, with the change already applied.
+     * @param index The zero-based index of the task.
+     * @param description The new description.
+     * @throws HowlyException If an I/O error occurs while writing.
+     */
+    public void saveUpdate(List<Task> tasks, int index, String description) throws HowlyException {
+        if (batchDepth > 0) {
+            isBatchDirty = true;
+            return;
+        }
+        if (journal == null) {
+            save(tasks);
+            return;
+        }
+        try {
+            journal.appendUpdate(index, description);
         } catch (IOException e) {
             System.out.println(" Error saving tasks: " + e.getMessage());
         }
+        compactor.maybeCompact(tasks);
+    }
+
+    /**
+     * Reads a snapshot of any format into the given list.
+     *
+     * @param file The snapshot file.
+     * @param into The list the tasks are appended to.
+     * @return The journal generation and the next id recorded in the snapshot, each 0 if it is not recorded.
+     * @throws IOException If the file cannot be read at all.
+     */
+    static SnapshotHeader loadSnapshot(File file, ArrayList<Task> into) throws IOException {
+        if (TaskList.isMappedFile(file.toPath())) {
+            TaskList mapped = TaskList.mappedReadOnly(file.toPath());
+            mapped.copyRange(0, Integer.MAX_VALUE, into);
+            return new SnapshotHeader(mapped.getFileGeneration(), mapped.getNextId());
+        }
+        if (BinaryTaskCodec.isBinary(file)) {
+            BinaryTaskCodec codec = new BinaryTaskCodec(file);
+            if (!codec.load(into)) {
+                System.out.println(" Warning: Data file corrupted. Only the tasks before the damage were loaded.");
+            }
+            return new SnapshotHeader(codec.getGeneration(), codec.getNextId());
+        }
+        MappedTaskLoader loader = new MappedTaskLoader(file);
+        if (!loader.load(into)) {
+            System.out.println(" Warning: Data file corrupted. Only the tasks before the damage were loaded.");
+        }
+        return new SnapshotHeader(loader.getGeneration(), loader.getNextId());
+    }
+
+    /**
+     * Returns the format an existing data file is in, or text if it is missing, empty or unreadable.
+     */
+    static StorageFormat formatOf(File file) {
+        if (!file.isFile() || file.length() == 0) {
+            return StorageFormat.TEXT;
+        }
+        try {
+            if (TaskList.isMappedFile(file.toPath())) {
+                return StorageFormat.MAPPED;
+            }
+            return BinaryTaskCodec.isBinary(file) ? StorageFormat.BINARY : StorageFormat.TEXT;
+        } catch (IOException e) {
+            return StorageFormat.TEXT;
+        }
+    }
+
+    /**
+     * Writes a complete snapshot to a temporary file and atomically renames it over the data file,
+     * so a crash mid-write never leaves a truncated data file behind.
+     *
+     * @param target The data file to replace.
+     * @param tasks The tasks to write, in list order.
+     * @param generation The journal generation the snapshot includes, or 0 if not journaled.
+     * @param nextId The id the next added task gets, or 0 to follow the last task; the higher of the two
+     *     is saved.
+     * @param format The layout to write the snapshot in.
+     * @throws IOException If the snapshot cannot be written or renamed.
+     */
+    static void writeSnapshot(File target, List<Task> tasks, long generation, long nextId, StorageFormat format)
+            throws IOException {
+        long savedNextId = tasks.isEmpty() ? nextId : Math.max(nextId, tasks.get(tasks.size() - 1).getId() + 1);
+        File parent = target.getAbsoluteFile().getParentFile();
+        if (!parent.exists()) {
+            parent.mkdirs();
+        }
+        File temp = new File(parent, target.getName() + ".tmp");
+        if (format == StorageFormat.MAPPED) {
+            TaskList.mapped(temp.toPath(), tasks, savedNextId, generation).force();
+        } else {
+            try (FileOutputStream out = new FileOutputStream(temp)) {
+                if (format == StorageFormat.BINARY) {
+                    BinaryTaskCodec.write(out, tasks, generation, savedNextId);
+                } else {
+                    writeText(out, tasks, generation, savedNextId);
+                }
+                out.getFD().sync();
+            }
+        }
+        moveIntoPlace(temp.toPath(), target.toPath());
+    }
+
+    /**
+     * Renames a finished file over the target, atomically where the file system allows it.
+     */
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void writeText(FileOutputStream out, List<Task> tasks, long generation, long nextId)
+            throws IOException {
+        BufferedWriter fw = new BufferedWriter(new OutputStreamWriter(out));
+        if (generation > 0) {
+            fw.write(GENERATION_HEADER + generation);
+            fw.write(System.lineSeparator());
+        }
+        if (nextId > 1) {
+            fw.write(NEXT_ID_HEADER + nextId);
+            fw.write(System.lineSeparator());
+        }
+        for (Task t : tasks) {
+            fw.write(t.toFileFormat());
+            fw.write(System.lineSeparator());
+        }
+        fw.flush();
+    }
+
+    private void noteNextId(long id) {
+        nextId.accumulateAndGet(id, Math::max);
+    }
+
+    /**
+     * Gives every task without an id, or whose id does not follow the one before, the next free id.
+     */
+    private static void numberTasks(List<Task> tasks) {
+        long nextId = 1;
+        for (Task t : tasks) {
+            if (t.getId() < nextId) {
+                t.setId(nextId);
+            }
+            nextId = t.getId() + 1;
+        }
+    }
+
+    /**
+     * Reconstructs a task from one line in the format produced by {@link Task#toFileFormat()}.
+     *
+     * Lines written before tasks had ids start with the type marker and are given an id when loaded.
+     * The dates are located from the end of the line, so descriptions may themselves contain " | ".
+     *
+     * @param line A line such as "12 | D | 1 | return book | 2025-12-31".
+     * @return The decoded task, or {@code null} if the type marker is not recognised.
+     * @throws RuntimeException If the line is missing fields or the id is not a number.
+     */
+    static Task parseTask(String line) {
+        long id = 0;
+        if (!line.isEmpty() && Character.isDigit(line.charAt(0))) {
+            int separator = line.indexOf(" | ");
+            id = Long.parseLong(line.substring(0, Math.max(separator, 0)));
+            line = line.substring(separator + 3);
+        }
+        // parts[0] is Type, parts[1] is isDone, parts[2] is task description followed by any dates
+        String[] parts = line.split(" \\| ", 3);
+        int dateCount = switch (parts[0]) {
+        case "T" -> 0;
+        case "D" -> 1;
+        case "E" -> 2;
+        default -> -1;
+        };
+        if (dateCount < 0) {
+            return null;
+        }
+        String rest = parts[2];
+        String[] dates = new String[dateCount];
+        int end = rest.length();
+        for (int k = dateCount - 1; k >= 0; k--) {
+            int separator = rest.lastIndexOf(" | ", end - 1);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Missing date in task: " + line);
+            }
+            dates[k] = rest.substring(separator + 3, end);
+            end = separator;
+        }
+        String description = DescriptionPool.shared().intern(rest.substring(0, end));
+        Task t = switch (dateCount) {
+        case 0 -> new ToDo(description);
+        case 1 -> new Deadline(description, dates[0]);
+        default -> new Event(description, dates[0], dates[1]);
+        };
+        if (parts[1].equals("1")) {
+            t.markAsDone();
+        }
+        t.setId(id);
+        return t;
     }
 }
@@ -0,0 +1,22 @@
+package howly.storage;
+
+/**
+ * Represents the on-disk layouts a snapshot of the task list can be written in.
+ * Loading detects the layout from the file itself, so the format only decides how snapshots are written.
+ */
+public enum StorageFormat {
+    /**
+     * One human-readable line per task, as produced by {@code Task.toFileFormat()}.
+     */
+    TEXT,
+    /**
+     * Compact length-prefixed records with dates stored as epoch days. See {@link BinaryTaskCodec}.
+     */
+    BINARY,
+    /**
+     * Fixed-width records in a memory-mapped file that the task list works on directly, so saving only
+     * forces changed pages to disk. Journaling and write-behind do not apply to it.
+     * See {@code TaskList.mapped(Path)}.
+     */
+    MAPPED
+}
@@ -0,0 +1,280 @@
+package howly.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import howly.common.TaskList;
+import howly.tasks.Deadline;
+import howly.tasks.Event;
+import howly.tasks.Task;
+
+/**
+ * Streams a task list to a file in an {@link ExportFormat}, one record at a time.
+ * <p>
+ * Each task is formatted into a reused line buffer, encoded as UTF-8 into a fixed direct buffer and
+ * written to a file channel whenever that buffer fills. The tasks are fetched a fixed-size chunk at a time
+ * with {@link TaskList#getTasksAfter}, which holds the list's shared lock only while it copies a chunk, so
+ * an export takes the same memory whatever the size of the list and never holds up changes for long.
+ * A task that stays in the list throughout the export is written exactly once; tasks added or removed
+ * meanwhile may or may not be.
+ * </p>
+ */
+class TaskExporter {
+    private static final int BUFFER_BYTES = 1 << 16;
+    private static final int CHUNK_TASKS = 1024;
+    /** The longest iCalendar line in bytes, not counting the line break, before it must be folded. */
+    private static final int ICS_LINE_BYTES = 75;
+    private static final DateTimeFormatter ICS_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    private final FileChannel channel;
+    private final ExportFormat format;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final StringBuilder line = new StringBuilder();
+    private final String timestamp = ZonedDateTime.now(ZoneOffset.UTC).format(ICS_TIMESTAMP);
+    private long bytes;
+    private long tasks;
+
+    private TaskExporter(FileChannel channel, ExportFormat format) {
+        this.channel = channel;
+        this.format = format;
+    }
+
+    /**
+     * Writes every task of the list to the file, replacing its contents.
+     *
+     * @param tasks The tasks to export.
+     * @param target The file to write.
+     * @param format The format to write the tasks in.
+     * @return The number of tasks and bytes written and the time taken.
+     * @throws IOException If the file cannot be written.
+     */
+    static ExportStats export(TaskList tasks, Path target, ExportFormat format) throws IOException {
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            TaskExporter exporter = new TaskExporter(channel, format);
+            exporter.writeHeader();
+            List<Task> chunk = tasks.getTasksAfter(0, CHUNK_TASKS);
+            while (!chunk.isEmpty()) {
+                for (Task task : chunk) {
+                    exporter.writeTask(task);
+                }
+                chunk = tasks.getTasksAfter(chunk.get(chunk.size() - 1).getId(), CHUNK_TASKS);
+            }
+            exporter.writeFooter();
+            exporter.finish();
+            return new ExportStats(exporter.tasks, exporter.bytes, System.nanoTime() - start);
+        }
+    }
+
+    private void writeHeader() throws IOException {
+        line.setLength(0);
+        if (format == ExportFormat.CSV) {
+            line.append("id,type,done,description,by,from,to\r\n");
+        } else if (format == ExportFormat.ICS) {
+            line.append("BEGIN:VCALENDAR\r\nVERSION:2.0\r\nPRODID:-//Howly//Task Export//EN\r\n");
+        }
+        write(line);
+    }
+
+    private void writeFooter() throws IOException {
+        if (format == ExportFormat.ICS) {
+            write("END:VCALENDAR\r\n");
+        }
+    }
+
+    private void writeTask(Task task) throws IOException {
+        line.setLength(0);
+        switch (format) {
+        case CSV -> appendCsv(task);
+        case JSONL -> appendJson(task);
+        default -> appendIcs(task);
+        }
+        write(line);
+        tasks++;
+    }
+
+    /**
+     * Appends a CSV row. Dates are ISO dates; a deadline fills only "by" and an event only "from" and "to".
+     */
+    private void appendCsv(Task task) {
+        line.append(task.getId()).append(',').append(typeOf(task)).append(',').append(task.isDone()).append(',');
+        String description = task.getDescription();
+        boolean isQuoted = false;
+        for (int k = 0; k < description.length() && !isQuoted; k++) {
+            char c = description.charAt(k);
+            isQuoted = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (isQuoted) {
+            line.append('"');
+            for (int k = 0; k < description.length(); k++) {
+                char c = description.charAt(k);
+                if (c == '"') {
+                    line.append('"');
+                }
+                line.append(c);
+            }
+            line.append('"');
+        } else {
+            line.append(description);
+        }
+        line.append(',');
+        if (task instanceof Deadline) {
+            line.append(((Deadline) task).getBy());
+        }
+        line.append(',');
+        if (task instanceof Event) {
+            line.append(((Event) task).getFrom()).append(',').append(((Event) task).getTo());
+        } else {
+            line.append(',');
+        }
+        line.append("\r\n");
+    }
+
+    private void appendJson(Task task) {
+        line.append("{\"id\":").append(task.getId())
+                .append(",\"type\":\"").append(typeOf(task))
+                .append("\",\"done\":").append(task.isDone())
+                .append(",\"description\":\"");
+        String description = task.getDescription();
+        for (int k = 0; k < description.length(); k++) {
+            char c = description.charAt(k);
+            switch (c) {
+            case '"' -> line.append("\\\"");
+            case '\\' -> line.append("\\\\");
+            case '\n' -> line.append("\\n");
+            case '\r' -> line.append("\\r");
+            case '\t' -> line.append("\\t");
+            default -> {
+                if (c < 0x20) {
+                    line.append(String.format("\\u%04x", (int) c));
+                } else {
+                    line.append(c);
+                }
+            }
+            }
+        }
+        line.append('"');
+        if (task instanceof Deadline) {
+            line.append(",\"by\":\"").append(((Deadline) task).getBy()).append('"');
+        } else if (task instanceof Event) {
+            line.append(",\"from\":\"").append(((Event) task).getFrom())
+                    .append("\",\"to\":\"").append(((Event) task).getTo()).append('"');
+        }
+        line.append("}\n");
+    }
+
+    /**
+     * Appends a VTODO, with a due date for a deadline, or an all-day VEVENT, whose end date is exclusive
+     * in iCalendar and so is the day after the event's last day. Events have no completion status in
+     * iCalendar, so a done event is exported like any other.
+     */
+    private void appendIcs(Task task) {
+        boolean isEvent = task instanceof Event;
+        String component = isEvent ? "VEVENT" : "VTODO";
+        line.append("BEGIN:").append(component).append("\r\n")
+                .append("UID:howly-task-").append(task.getId()).append("\r\n")
+                .append("DTSTAMP:").append(timestamp).append("\r\n");
+        int summary = line.length();
+        line.append("SUMMARY:");
+        String description = task.getDescription();
+        for (int k = 0; k < description.length(); k++) {
+            char c = description.charAt(k);
+            if (c == '\\' || c == ';' || c == ',') {
+                line.append('\\').append(c);
+            } else if (c == '\n') {
+                line.append("\\n");
+            } else if (c != '\r') {
+                line.append(c);
+            }
+        }
+        foldIcsLine(summary);
+        line.append("\r\n");
+        if (isEvent) {
+            appendIcsDate("DTSTART", ((Event) task).getFrom());
+            appendIcsDate("DTEND", ((Event) task).getTo().plusDays(1));
+        } else {
+            if (task instanceof Deadline) {
+                appendIcsDate("DUE", ((Deadline) task).getBy());
+            }
+            line.append("STATUS:").append(task.isDone() ? "COMPLETED" : "NEEDS-ACTION").append("\r\n");
+        }
+        line.append("END:").append(component).append("\r\n");
+    }
+
+    private void appendIcsDate(String property, LocalDate date) {
+        line.append(property).append(";VALUE=DATE:").append(date.format(DateTimeFormatter.BASIC_ISO_DATE))
+                .append("\r\n");
+    }
+
+    /**
+     * Folds the content line starting at the given index so that no line is longer than 75 bytes of UTF-8,
+     * by inserting a line break and a space, without splitting a character.
+     */
+    private void foldIcsLine(int start) {
+        int lineBytes = 0;
+        for (int k = start; k < line.length(); k++) {
+            char c = line.charAt(k);
+            int width = c < 0x80 ? 1 : c < 0x800 ? 2 : Character.isHighSurrogate(c) ? 4 : 3;
+            if (Character.isLowSurrogate(c)) {
+                continue;
+            }
+            if (lineBytes + width > ICS_LINE_BYTES) {
+                line.insert(k, "\r\n ");
+                k += 3;
+                lineBytes = 1;
+            }
+            lineBytes += width;
+        }
+    }
+
+    private static String typeOf(Task task) {
+        return task instanceof Deadline ? "deadline" : task instanceof Event ? "event" : "todo";
+    }
+
+    /**
+     * Encodes the text into the buffer, writing the buffer out whenever it fills.
+     */
+    private void write(CharSequence text) throws IOException {
+        CharBuffer chars = CharBuffer.wrap(text);
+        CoderResult result = encoder.encode(chars, buffer, false);
+        while (result.isOverflow()) {
+            drain();
+            result = encoder.encode(chars, buffer, false);
+        }
+    }
+
+    private void finish() throws IOException {
+        while (encoder.encode(CharBuffer.allocate(0), buffer, true).isOverflow()) {
+            drain();
+        }
+        while (encoder.flush(buffer).isOverflow()) {
+            drain();
+        }
+        drain();
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            bytes += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
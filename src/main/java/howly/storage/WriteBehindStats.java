@@ -0,0 +1,75 @@
+package howly.storage;
+
+/**
+ * Represents a point-in-time summary of the saves performed by a write-behind {@link Storage}.
+ * Queue depth is the number of changes waiting to be written; flush latency runs from the first
+ * change of a burst until the save that includes it is durably on disk.
+ */
+public class WriteBehindStats {
+    private final long signals;
+    private final long flushes;
+    private final int queueDepth;
+    private final int maxQueueDepth;
+    private final long lastFlushLatencyNanos;
+    private final long maxFlushLatencyNanos;
+    private final long lastWriteNanos;
+
+    /**
+     * @param signals The number of changes signalled to the writer.
+     * @param flushes The number of saves written, each covering one or more changes.
+     * @param queueDepth The number of changes not yet picked up by a save.
+     * @param maxQueueDepth The most changes ever covered by a single save.
+     * @param lastFlushLatencyNanos The latency of the most recent save.
+     * @param maxFlushLatencyNanos The highest latency of any save.
+     * @param lastWriteNanos The time the most recent save spent writing the file.
+     */
+    public WriteBehindStats(long signals, long flushes, int queueDepth, int maxQueueDepth,
+            long lastFlushLatencyNanos, long maxFlushLatencyNanos, long lastWriteNanos) {
+        this.signals = signals;
+        this.flushes = flushes;
+        this.queueDepth = queueDepth;
+        this.maxQueueDepth = maxQueueDepth;
+        this.lastFlushLatencyNanos = lastFlushLatencyNanos;
+        this.maxFlushLatencyNanos = maxFlushLatencyNanos;
+        this.lastWriteNanos = lastWriteNanos;
+    }
+
+    public long getSignals() {
+        return signals;
+    }
+
+    public long getFlushes() {
+        return flushes;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    public long getLastFlushLatencyNanos() {
+        return lastFlushLatencyNanos;
+    }
+
+    public long getMaxFlushLatencyNanos() {
+        return maxFlushLatencyNanos;
+    }
+
+    public long getLastWriteNanos() {
+        return lastWriteNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "signals=" + signals
+                + ", flushes=" + flushes
+                + ", queueDepth=" + queueDepth
+                + ", maxQueueDepth=" + maxQueueDepth
+                + ", lastFlushLatencyMicros=" + lastFlushLatencyNanos / 1_000
+                + ", maxFlushLatencyMicros=" + maxFlushLatencyNanos / 1_000
+                + ", lastWriteMicros=" + lastWriteNanos / 1_000;
+    }
+}
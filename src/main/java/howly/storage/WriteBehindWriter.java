@@ -0,0 +1,179 @@
+package howly.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import howly.tasks.Task;
+
+/**
+ * Saves the task list on a background thread, coalescing bursts of changes into a single save.
+ * <p>
+ * Each change only tells the writer that the list changed, and returns at once. The writer waits until
+ * no change has arrived for the debounce window, or until the first change of the burst has waited
+ * {@link #MAX_DELAY_FACTOR} windows, and then copies the list once, on its own thread, and writes the copy.
+ * A burst of changes therefore costs the caller no copying at all.
+ * {@link #flush()} skips the wait and blocks until everything handed over so far is on disk.
+ * </p>
+ */
+class WriteBehindWriter {
+    static final long DEFAULT_DEBOUNCE_MILLIS = 200;
+    private static final int MAX_DELAY_FACTOR = 10;
+
+    private final File dataFile;
+    private final StorageFormat format;
+    private final LongSupplier nextId;
+    private final long debounceNanos;
+    private final Thread thread;
+
+    private List<Task> pending;
+    private int queueDepth;
+    private long firstSignalAt;
+    private long lastSignalAt;
+    private long signalled;
+    private long written;
+    private boolean isForced;
+    private boolean isClosed;
+
+    private long flushes;
+    private int maxQueueDepth;
+    private long lastLatencyNanos;
+    private long maxLatencyNanos;
+    private long lastWriteNanos;
+
+    /**
+     * @param dataFile The data file to save to.
+     * @param format The layout the data file is written in.
+     * @param nextId Supplies the id the next added task gets, to be saved with the list.
+     * @param debounceMillis How long the list must go unchanged before it is saved.
+     */
+    WriteBehindWriter(File dataFile, StorageFormat format, LongSupplier nextId, long debounceMillis) {
+        this.dataFile = dataFile;
+        this.format = format;
+        this.nextId = nextId;
+        this.debounceNanos = debounceMillis * 1_000_000;
+        this.thread = new Thread(this::run, "howly-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Marks the list as changed, to be saved once the burst of changes is over.
+     *
+     * @param tasks The live list, which the writer copies from its own thread, so reading it must be
+     *     safe while other threads change it.
+     */
+    synchronized void signal(List<Task> tasks) {
+        long now = System.nanoTime();
+        if (pending == null) {
+            firstSignalAt = now;
+        }
+        pending = tasks;
+        lastSignalAt = now;
+        queueDepth++;
+        signalled++;
+        notifyAll();
+    }
+
+    /**
+     * Saves any pending change immediately and blocks until it is durably written.
+     */
+    synchronized void flush() {
+        long target = signalled;
+        isForced = true;
+        notifyAll();
+        while (written < target && thread.isAlive()) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Flushes any pending change and stops the background thread. Safe to call more than once.
+     */
+    void close() {
+        flush();
+        synchronized (this) {
+            isClosed = true;
+            notifyAll();
+        }
+    }
+
+    /**
+     * @return The statistics of the saves performed so far.
+     */
+    synchronized WriteBehindStats getStats() {
+        return new WriteBehindStats(signalled, flushes, queueDepth, maxQueueDepth,
+                lastLatencyNanos, maxLatencyNanos, lastWriteNanos);
+    }
+
+    private void run() {
+        while (true) {
+            List<Task> tasks;
+            long target;
+            long burstStart;
+            int depth;
+            synchronized (this) {
+                try {
+                    awaitBurstEnd();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (pending == null) {
+                    return;
+                }
+                tasks = pending;
+                target = signalled;
+                burstStart = firstSignalAt;
+                depth = queueDepth;
+                pending = null;
+                queueDepth = 0;
+                isForced = false;
+            }
+
+            long writeStart = System.nanoTime();
+            try {
+                // Changes signalled after this point are saved by the next write, as pending is set again
+                Storage.writeSnapshot(dataFile, new ArrayList<>(tasks), 0, nextId.getAsLong(), format);
+            } catch (IOException e) {
+                System.out.println(" Error saving tasks: " + e.getMessage());
+            }
+            long end = System.nanoTime();
+
+            synchronized (this) {
+                written = target;
+                flushes++;
+                maxQueueDepth = Math.max(maxQueueDepth, depth);
+                lastWriteNanos = end - writeStart;
+                lastLatencyNanos = end - burstStart;
+                maxLatencyNanos = Math.max(maxLatencyNanos, lastLatencyNanos);
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Waits until there is a pending change and the debounce window has passed, a flush was requested,
+     * or the writer was closed. Must hold the monitor.
+     */
+    private void awaitBurstEnd() throws InterruptedException {
+        while (pending == null && !isClosed) {
+            isForced = false;
+            wait();
+        }
+        while (pending != null && !isForced && !isClosed) {
+            long deadline = Math.min(lastSignalAt + debounceNanos, firstSignalAt + MAX_DELAY_FACTOR * debounceNanos);
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            wait(remaining / 1_000_000, (int) (remaining % 1_000_000));
+        }
+    }
+}
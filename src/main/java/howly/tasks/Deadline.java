@@ -1,7 +1,6 @@
 package howly.tasks;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 
 /**
  * Represents a task with a specific deadline.
@@ -21,14 +20,30 @@ public class Deadline extends Task {
         this.by = LocalDate.parse(by);
     }
 
+    /**
+     * @param description The text describing the task to be performed.
+     * @param by The date by which the task should be completed.
+     */
+    public Deadline(String description, LocalDate by) {
+        super(description);
+        this.by = by;
+    }
+
+    /**
+     * @return The date by which the task should be completed.
+     */
+    public LocalDate getBy() {
+        return by;
+    }
+
     /**
      * Returns the machine-readable data format of the deadline task for storage.
-     * The format used is "D | [status] | [description] | [date]".
+     * The format used is "[id] | D | [status] | [description] | [date]", without the id if none is assigned.
      * @return A string formatted for saving to a file.
      */
     @Override
     public String toFileFormat() {
-        return "D | " + super.toFileFormat() + " | " + by;
+        return withId("D | " + super.toFileFormat() + " | " + by);
     }
 
     /**
@@ -43,8 +58,7 @@ public class Deadline extends Task {
     }
 
     @Override
-    public String toString() {
-        return "[D]" + super.toString() + " (by: "
-                + by.format(DateTimeFormatter.ofPattern("MMM d yyyy")) + ")";
+    protected String render() {
+        return "[D]" + super.render() + " (by: " + by.format(DISPLAY_DATE) + ")";
     }
 }
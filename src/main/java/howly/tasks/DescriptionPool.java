@@ -0,0 +1,156 @@
+package howly.tasks;
+
+import java.lang.ref.WeakReference;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pools task descriptions so that tasks with the same description share one {@code String}, and the
+ * heap taken by descriptions grows with the number of distinct ones rather than with the number of tasks.
+ * <p>
+ * The pool is a fixed-size hash table of weak references. A description can sit in either of a pair of
+ * neighbouring slots picked by its hash; a new one goes into the first slot and moves the previous
+ * occupant to the second, evicting whatever was there. The pool therefore never grows past its capacity
+ * and never keeps alive a description that no task uses, and a description that was evicted or collected
+ * is simply pooled again the next time it is seen. Slots are updated without locking, so racing threads
+ * can at worst lose a pooled entry, never get back a different description.
+ * </p>
+ * <p>
+ * Loaders can look a description up straight from the bytes of a file, so a hit does not create a
+ * {@code String} at all.
+ * </p>
+ */
+public class DescriptionPool {
+    /** The number of descriptions the shared pool holds at most. */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final DescriptionPool SHARED = new DescriptionPool(DEFAULT_CAPACITY);
+
+    private final AtomicReferenceArray<WeakReference<String>> slots;
+    private final int shift;
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * @param capacity The number of descriptions to hold at most, rounded up to a power of two.
+     */
+    public DescriptionPool(int capacity) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(Math.min(capacity, MAX_CAPACITY) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.shift = Integer.numberOfLeadingZeros(size) + 1;
+    }
+
+    /**
+     * @return The pool shared by the loaders and the commands.
+     */
+    public static DescriptionPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the pooled description equal to the given one, pooling it first if there is none.
+     *
+     * @param description The description.
+     * @return An equal description, shared with other callers where possible.
+     */
+    public String intern(String description) {
+        lookups.increment();
+        int first = firstSlot(description.hashCode());
+        for (int i = first; i <= first + 1; i++) {
+            String pooled = pooledAt(i);
+            if (description.equals(pooled)) {
+                hits.increment();
+                return pooled;
+            }
+        }
+        pool(first, description);
+        return description;
+    }
+
+    /**
+     * Returns the pooled description equal to the given bytes, decoding and pooling them first if there is
+     * none. When the bytes are ASCII in an ASCII-compatible charset, they are compared without decoding.
+     *
+     * @param bytes The buffer holding the encoded description.
+     * @param offset The index of the first byte of the description.
+     * @param length The number of bytes in the description.
+     * @param charset The charset the description is encoded in.
+     * @return The description, shared with other callers where possible.
+     */
+    public String intern(byte[] bytes, int offset, int length, Charset charset) {
+        boolean isAsciiCompatible = charset.equals(StandardCharsets.UTF_8)
+                || charset.equals(StandardCharsets.ISO_8859_1) || charset.equals(StandardCharsets.US_ASCII);
+        if (!isAsciiCompatible) {
+            return intern(new String(bytes, offset, length, charset));
+        }
+        int hash = 0;
+        for (int k = offset; k < offset + length; k++) {
+            if (bytes[k] < 0) {
+                return intern(new String(bytes, offset, length, charset));
+            }
+            // The same hash String.hashCode() gives the decoded description
+            hash = 31 * hash + bytes[k];
+        }
+        lookups.increment();
+        int first = firstSlot(hash);
+        for (int i = first; i <= first + 1; i++) {
+            String pooled = pooledAt(i);
+            if (pooled != null && matches(pooled, bytes, offset, length)) {
+                hits.increment();
+                return pooled;
+            }
+        }
+        String description = new String(bytes, offset, length, charset);
+        pool(first, description);
+        return description;
+    }
+
+    /**
+     * Returns the lookups and hits so far, and how many descriptions the pool holds now.
+     *
+     * @return The pool statistics.
+     */
+    public DescriptionPoolStats getStats() {
+        int pooled = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            if (pooledAt(i) != null) {
+                pooled++;
+            }
+        }
+        return new DescriptionPoolStats(lookups.sum(), hits.sum(), pooled, slots.length());
+    }
+
+    /**
+     * Scatters the hash by Fibonacci hashing, since descriptions such as "week 1" and "week 2" have
+     * neighbouring hashes, and takes its top bits as the pair of slots.
+     */
+    private int firstSlot(int hash) {
+        return ((hash * 0x9E3779B9) >>> shift) & ~1;
+    }
+
+    private String pooledAt(int slot) {
+        WeakReference<String> entry = slots.get(slot);
+        return entry == null ? null : entry.get();
+    }
+
+    private void pool(int first, String description) {
+        if (pooledAt(first) != null) {
+            slots.set(first + 1, slots.get(first));
+        }
+        slots.set(first, new WeakReference<>(description));
+    }
+
+    private static boolean matches(String pooled, byte[] bytes, int offset, int length) {
+        if (pooled.length() != length) {
+            return false;
+        }
+        for (int k = 0; k < length; k++) {
+            if (pooled.charAt(k) != bytes[offset + k]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,58 @@
+package howly.tasks;
+
+/**
+ * Represents a point-in-time summary of the lookups made in a {@link DescriptionPool}.
+ * A hit is a lookup answered with a description already in the pool, so the hit rate is the share of
+ * descriptions that did not need a {@code String} of their own.
+ */
+public class DescriptionPoolStats {
+    private final long lookups;
+    private final long hits;
+    private final int pooled;
+    private final int capacity;
+
+    /**
+     * @param lookups The number of descriptions looked up.
+     * @param hits The number of lookups that found an equal description in the pool.
+     * @param pooled The number of descriptions the pool holds now.
+     * @param capacity The number of descriptions the pool can hold at most.
+     */
+    public DescriptionPoolStats(long lookups, long hits, int pooled, int capacity) {
+        this.lookups = lookups;
+        this.hits = hits;
+        this.pooled = pooled;
+        this.capacity = capacity;
+    }
+
+    public long getLookups() {
+        return lookups;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public int getPooled() {
+        return pooled;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return The share of lookups that were hits, from 0 to 1, or 0 if there were none.
+     */
+    public double getHitRate() {
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return "lookups=" + lookups
+                + ", hits=" + hits
+                + ", hitRate=" + String.format("%.1f%%", getHitRate() * 100)
+                + ", pooled=" + pooled
+                + ", capacity=" + capacity;
+    }
+}
@@ -1,7 +1,6 @@
 package howly.tasks;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 
 /**
  * Represents a task that occurs within a specific time frame.
@@ -23,15 +22,41 @@ public class Event extends Task {
         this.to = LocalDate.parse(to);
     }
 
+    /**
+     * @param description The text describing the task to be performed.
+     * @param from The start date of the event.
+     * @param to The end date of the event.
+     */
+    public Event(String description, LocalDate from, LocalDate to) {
+        super(description);
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * @return The start date of the event.
+     */
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    /**
+     * @return The end date of the event.
+     */
+    public LocalDate getTo() {
+        return to;
+    }
+
     /**
      * Returns the machine-readable data format of the event task for storage.
-     * The format used is "E | [status] | [description] | [from] | [to]".
+     * The format used is "[id] | E | [status] | [description] | [from] | [to]",
+     * without the id if none is assigned.
      *
      * @return A string formatted for saving to a file.
      */
     @Override
     public String toFileFormat() {
-        return "E | " + super.toFileFormat() + " | " + from + " | " + to;
+        return withId("E | " + super.toFileFormat() + " | " + from + " | " + to);
     }
 
     /**
@@ -47,8 +72,8 @@ public class Event extends Task {
     }
 
     @Override
-    public String toString() {
-        DateTimeFormatter fmt = DateTimeFormatter.ofPattern("MMM d yyyy");
-        return "[E]" + super.toString() + " (from: " + from.format(fmt) + " to: " + to.format(fmt) + ")";
+    protected String render() {
+        return "[E]" + super.render() + " (from: " + from.format(DISPLAY_DATE)
+                + " to: " + to.format(DISPLAY_DATE) + ")";
     }
 }
@@ -1,15 +1,31 @@
 package howly.tasks;
 
 import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 
 /**
  * Represents a generic task in the Howly application.
  * This class serves as a base for specific task types like Todo, Deadline, and Event,
  * providing common functionality for descriptions and completion status.
+ * <p>
+ * The display string is built once and reused until the status or description changes,
+ * since every list and search renders each task it shows. Changes and the cache are synchronized,
+ * so a task may be read on one thread while another marks or renames it.
+ * </p>
+ * <p>
+ * Once a task is in a {@code TaskList}, it has a positive id that never changes and is saved with it,
+ * so the task can still be found after the tasks before it are deleted. An id of 0 means none is
+ * assigned yet.
+ * </p>
  */
 public class Task {
-    private String description;
-    private boolean isDone;
+    /** The format dates are displayed in, shared by every task. */
+    public static final DateTimeFormatter DISPLAY_DATE = DateTimeFormatter.ofPattern("MMM d yyyy");
+
+    private volatile String description;
+    private volatile boolean isDone;
+    private String rendering;
+    private long id;
 
     /**
      * @param description The text describing the task to be performed.
@@ -22,15 +38,38 @@ public class Task {
     /**
      * Marks the task as completed.
      */
-    public void markAsDone() {
+    public synchronized void markAsDone() {
         this.isDone = true;
+        this.rendering = null;
     }
 
     /**
      * Marks the task as not yet completed.
      */
-    public void markAsNotDone() {
+    public synchronized void markAsNotDone() {
         this.isDone = false;
+        this.rendering = null;
+    }
+
+    /**
+     * @return {@code true} if the task has been marked as completed.
+     */
+    public boolean isDone() {
+        return isDone;
+    }
+
+    /**
+     * @return The id of the task, or 0 if it has none yet.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * @param id The id of the task, unique within its list.
+     */
+    public void setId(long id) {
+        this.id = id;
     }
 
     /**
@@ -53,6 +92,16 @@ public class Task {
         return (isDone ? "1" : "0") + " | " + description;
     }
 
+    /**
+     * Prefixes a record in the file format with the task's id, if it has one, as in "12 | T | 0 | read book".
+     *
+     * @param record The record of the task without its id.
+     * @return The record to save.
+     */
+    protected String withId(String record) {
+        return id == 0 ? record : id + " | " + record;
+    }
+
     /**
      * Checks if this task occurs on a specific date.
      * The base implementation always returns {@code false};
@@ -68,8 +117,9 @@ public class Task {
     /**
      * @param description The new description defined by user input.
      */
-    public void setDescription(String description) {
+    public synchronized void setDescription(String description) {
         this.description = description;
+        this.rendering = null;
     }
 
     /**
@@ -80,13 +130,26 @@ public class Task {
     }
 
     /**
-     * Returns a string representation of the task, showing its status icon
-     * and description.
+     * Builds the display string of the task, showing its status icon and description.
+     * Subclasses extend this to add their type marker and dates.
      *
      * @return A user-friendly string representation of the task.
      */
-    @Override
-    public String toString() {
+    protected String render() {
         return "[" + getStatusIcon() + "] " + this.description;
     }
+
+    /**
+     * Returns a string representation of the task, built by {@link #render()} on first use
+     * and cached until the task is marked, unmarked or renamed.
+     *
+     * @return A user-friendly string representation of the task.
+     */
+    @Override
+    public synchronized String toString() {
+        if (rendering == null) {
+            rendering = render();
+        }
+        return rendering;
+    }
 }
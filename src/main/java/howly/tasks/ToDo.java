@@ -11,17 +11,17 @@ public class ToDo extends Task {
 
     /**
      * Returns the machine-readable data format of the todo task for storage.
-     * The format used is "T | [status] | [description]".
+     * The format used is "[id] | T | [status] | [description]", without the id if none is assigned.
      *
      * @return A string formatted for saving to a file.
      */
     @Override
     public String toFileFormat() {
-        return "T | " + super.toFileFormat();
+        return withId("T | " + super.toFileFormat());
     }
 
     @Override
-    public String toString() {
-        return "[T]" + super.toString();
+    protected String render() {
+        return "[T]" + super.render();
     }
 }
@@ -1,5 +1,6 @@
 package howly.ui;
 
+import java.io.PrintStream;
 import java.util.Scanner;
 
 /**
@@ -41,6 +42,15 @@ public class Ui {
         return scanner.nextLine();
     }
 
+    /**
+     * Returns the console stream that command responses are written to as they are produced.
+     *
+     * @return The standard output stream.
+     */
+    public PrintStream getOutput() {
+        return System.out;
+    }
+
     /**
      * Displays a formatted error message to the user.
      *
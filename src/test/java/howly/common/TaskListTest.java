@@ -0,0 +1,399 @@
+package howly.common;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import howly.tasks.Deadline;
+import howly.tasks.Event;
+import howly.tasks.Task;
+import howly.tasks.ToDo;
+
+public class TaskListTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void findOnDate_deadlinesAndEvents_returnsMatchesInListOrder() {
+        TaskList tasks = new TaskList();
+        Task trip = new Event("trip", "2026-03-01", "2026-03-10");
+        Task report = new Deadline("report", "2026-03-05");
+        tasks.add(trip);
+        tasks.add(new ToDo("read book"));
+        tasks.add(new Deadline("tax", "2026-04-01"));
+        tasks.add(report);
+
+        assertEquals(List.of(trip, report), tasks.findOnDate(LocalDate.parse("2026-03-05")));
+        assertEquals(List.of(trip), tasks.findOnDate(LocalDate.parse("2026-03-10")));
+        assertTrue(tasks.findOnDate(LocalDate.parse("2026-03-11")).isEmpty());
+    }
+
+    @Test
+    public void findOnDate_afterDelete_excludesDeletedTask() {
+        TaskList tasks = new TaskList();
+        tasks.add(new Event("trip", "2026-03-01", "2026-03-10"));
+        Task report = new Deadline("report", "2026-03-05");
+        tasks.add(report);
+
+        tasks.delete(0);
+
+        assertEquals(List.of(report), tasks.findOnDate(LocalDate.parse("2026-03-05")));
+    }
+
+    @Test
+    public void forEachBetween_deadlinesAndEvents_visitsInChronologicalOrder() {
+        TaskList tasks = new TaskList();
+        Task late = new Deadline("report", "2026-03-20");
+        Task trip = new Event("trip", "2026-02-25", "2026-03-02");
+        Task tax = new Deadline("tax", "2026-03-01");
+        tasks.add(late);
+        tasks.add(new Deadline("too late", "2026-04-01"));
+        tasks.add(trip);
+        tasks.add(tax);
+
+        List<Task> visited = new ArrayList<>();
+        tasks.forEachBetween(LocalDate.parse("2026-03-01"), LocalDate.parse("2026-03-31"), visited::add);
+
+        assertEquals(List.of(trip, tax, late), visited);
+    }
+
+    @Test
+    public void findByKeyword_substringAcrossUpdates_matchesCurrentText() {
+        TaskList tasks = new TaskList();
+        tasks.add(new ToDo("read book"));
+        Task rent = new ToDo("pay rent");
+        tasks.add(rent);
+        tasks.add(new Deadline("return Bookshelf", "2026-01-05"));
+
+        assertEquals(2, tasks.findByKeyword("BOOK").size());
+
+        tasks.update(0, "read magazine");
+        tasks.mark(1, true);
+
+        assertEquals(1, tasks.findByKeyword("book").size());
+        assertEquals(List.of(rent), tasks.findByKeyword("[x] pay"));
+        assertEquals(1, tasks.findByKeyword("jan 5").size());
+    }
+
+    @Test
+    public void rollbackTransaction_mixedChanges_restoresListAndIndexes() {
+        TaskList tasks = new TaskList();
+        Task report = new Deadline("report", "2026-03-05");
+        tasks.add(new ToDo("read book"));
+        tasks.add(report);
+        tasks.add(new Event("trip", "2026-03-01", "2026-03-10"));
+        String before = tasks.getTasks().toString();
+
+        tasks.beginTransaction();
+        tasks.delete(1);
+        tasks.add(new Deadline("essay", "2026-03-05"));
+        tasks.mark(0, true);
+        tasks.update(1, "holiday");
+        tasks.rollbackTransaction();
+
+        assertEquals(before, tasks.getTasks().toString());
+        assertEquals(List.of(report, tasks.get(2)), tasks.findOnDate(LocalDate.parse("2026-03-05")));
+        assertTrue(tasks.findByKeyword("essay").isEmpty());
+        assertEquals(List.of(tasks.get(2)), tasks.findByKeyword("trip"));
+    }
+
+    @Test
+    public void rollbackTransaction_deletedDeadline_keepsListOrderOnItsDay() {
+        TaskList tasks = new TaskList();
+        Task essay = new Deadline("essay", "2026-03-05");
+        Task report = new Deadline("report", "2026-03-05");
+        tasks.add(essay);
+        tasks.add(report);
+
+        tasks.beginTransaction();
+        tasks.delete(0);
+        tasks.rollbackTransaction();
+
+        List<Task> visited = new ArrayList<>();
+        tasks.forEachBetween(LocalDate.parse("2026-03-05"), LocalDate.parse("2026-03-05"), visited::add);
+        assertEquals(List.of(essay, report), visited);
+        assertEquals(List.of(essay, report), tasks.findOnDate(LocalDate.parse("2026-03-05")));
+    }
+
+    @Test
+    public void concurrentReadersAndWriters_manyThreads_keepListAndIndexesConsistent() throws Exception {
+        TaskList tasks = new TaskList();
+        List<Task> mirror = new ArrayList<>();
+        tasks.addListener(new TaskListListener() {
+            @Override
+            public void taskAdded(int index, Task task) {
+                mirror.add(index, task);
+            }
+
+            @Override
+            public void taskRemoved(int index, Task task) {
+                mirror.remove(index);
+            }
+
+            @Override
+            public void taskChanged(int index, Task task) {
+                mirror.set(index, task);
+            }
+        });
+        LocalDate day = LocalDate.parse("2026-03-05");
+        int writers = 4;
+        int readers = 4;
+        int operations = 2_000;
+        AtomicBoolean isWriting = new AtomicBoolean(true);
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        ExecutorService pool = Executors.newFixedThreadPool(writers + readers + 1);
+        List<Future<?>> writing = new ArrayList<>();
+
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+            writing.add(pool.submit(() -> {
+                Random random = new Random(writer);
+                for (int i = 0; i < operations; i++) {
+                    int size = tasks.size();
+                    try {
+                        switch (size == 0 ? 0 : random.nextInt(4)) {
+                        case 0 -> tasks.add(new ToDo("chore " + writer + " " + i));
+                        case 1 -> tasks.add(new Deadline("report " + writer + " " + i,
+                                day.plusDays(random.nextInt(3))));
+                        case 2 -> tasks.mark(random.nextInt(size), random.nextBoolean());
+                        default -> tasks.update(random.nextInt(size), "renamed " + writer + " " + i);
+                        }
+                    } catch (IndexOutOfBoundsException e) {
+                        // The deleting thread shrank the list after its size was read; nothing was changed
+                    }
+                }
+                return null;
+            }));
+        }
+        // Only this thread deletes, so an index below the size it reads stays valid until it deletes
+        writing.add(pool.submit(() -> {
+            Random random = new Random(writers);
+            int deleted = 0;
+            while (deleted < operations / 4) {
+                int size = tasks.size();
+                if (size == 0) {
+                    Thread.yield();
+                    continue;
+                }
+                tasks.delete(random.nextInt(size));
+                deleted++;
+            }
+            return null;
+        }));
+        for (int r = 0; r < readers; r++) {
+            pool.submit(() -> {
+                try {
+                    while (isWriting.get()) {
+                        for (Task task : tasks.findOnDate(day)) {
+                            assertTrue(task.isOnDate(day));
+                        }
+                        // A match may be renamed as soon as the search returns, so only its shape is checked
+                        List<Task> reports = tasks.findByKeyword("report");
+                        assertEquals(reports.size(), reports.stream().distinct().count());
+                        List<Task> snapshot = new ArrayList<>(tasks.getTasks());
+                        assertTrue(snapshot.stream().allMatch(Objects::nonNull));
+                        Thread.yield();
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+        }
+
+        try {
+            for (Future<?> future : writing) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            isWriting.set(false);
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS));
+        }
+
+        assertTrue(failures.isEmpty(), "Readers failed: " + failures);
+        List<Task> finalTasks = new ArrayList<>(tasks.getTasks());
+        assertEquals(mirror.size(), finalTasks.size());
+        for (int i = 0; i < finalTasks.size(); i++) {
+            assertSame(mirror.get(i), finalTasks.get(i));
+        }
+        List<Task> onDay = finalTasks.stream().filter(task -> task.isOnDate(day)).collect(Collectors.toList());
+        assertEquals(onDay, tasks.findOnDate(day));
+        List<Task> reports = finalTasks.stream()
+                .filter(task -> task.toString().toLowerCase().contains("report"))
+                .collect(Collectors.toList());
+        assertEquals(reports, tasks.findByKeyword("report"));
+    }
+
+    @Test
+    public void findById_afterDeletesAndRollback_findsTaskAndCurrentPosition() {
+        ArrayList<Task> loaded = new ArrayList<>();
+        Task saved = new ToDo("read book");
+        saved.setId(7);
+        loaded.add(saved);
+        loaded.add(new ToDo("written before ids"));
+        TaskList tasks = new TaskList(loaded);
+        Task report = new Deadline("report", "2026-03-05");
+        tasks.add(report);
+
+        assertEquals(8, loaded.get(1).getId());
+        assertEquals(9, report.getId());
+        tasks.delete(0);
+        assertSame(report, tasks.findById(9));
+        assertEquals(1, tasks.indexOf(9));
+        assertEquals(-1, tasks.indexOf(7));
+
+        tasks.beginTransaction();
+        tasks.delete(1);
+        tasks.add(new ToDo("essay"));
+        tasks.rollbackTransaction();
+
+        assertSame(report, tasks.findById(9));
+        assertEquals(1, tasks.indexOf(9));
+        assertNull(tasks.findById(10));
+    }
+
+    @Test
+    public void deleteAll_scatteredIndices_removesInOnePassAndRollsBack() {
+        TaskList tasks = new TaskList();
+        List<Task> added = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Task task = i % 2 == 0 ? new ToDo("chore " + i) : new Deadline("report " + i, "2026-03-05");
+            added.add(task);
+            tasks.add(task);
+        }
+        String before = tasks.getTasks().toString();
+
+        tasks.beginTransaction();
+        List<Task> removed = tasks.deleteAll(new int[] {0, 3, 4, 9});
+        tasks.markAll(new int[] {0, 1}, true);
+
+        assertEquals(List.of(added.get(0), added.get(3), added.get(4), added.get(9)), removed);
+        assertEquals(List.of(added.get(1), added.get(2), added.get(5), added.get(6), added.get(7), added.get(8)),
+                new ArrayList<>(tasks.getTasks()));
+        assertEquals(List.of(added.get(1), added.get(5), added.get(7)),
+                tasks.findOnDate(LocalDate.parse("2026-03-05")));
+        assertEquals(2, tasks.indexOf(added.get(5).getId()));
+        assertArrayEquals(new int[] {0, 1}, tasks.indicesWhere(Task::isDone));
+
+        tasks.rollbackTransaction();
+
+        assertEquals(before, tasks.getTasks().toString());
+        assertEquals(5, tasks.findOnDate(LocalDate.parse("2026-03-05")).size());
+        assertSame(added.get(9), tasks.findById(added.get(9).getId()));
+    }
+
+    @Test
+    public void columnar_sameChanges_readsAndSearchesLikeObjectList() {
+        ArrayList<Task> loaded = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            loaded.add(switch (i % 3) {
+            case 0 -> new ToDo("chore " + i);
+            case 1 -> new Deadline("report " + i, LocalDate.parse("2026-03-01").plusDays(i % 10));
+            default -> new Event("caf\u00e9 trip " + i, LocalDate.parse("2026-03-01").plusDays(i % 7),
+                    LocalDate.parse("2026-03-05").plusDays(i % 7));
+            });
+        }
+        TaskList columns = TaskList.columnar(loaded);
+        TaskList objects = new TaskList(new ArrayList<>(columns.getTasks()));
+
+        for (TaskList tasks : List.of(objects, columns)) {
+            tasks.markAll(tasks.indicesWhere(task -> task.getId() % 5 == 0), true);
+            tasks.beginTransaction();
+            tasks.deleteAll(new int[] {0, 63, 64, 65, 150});
+            tasks.update(70, "\u65e5\u672c report");
+            tasks.rollbackTransaction();
+            tasks.deleteAll(new int[] {1, 2, 64, 128});
+            tasks.delete(3);
+            tasks.mark(100, true);
+            tasks.update(5, "renamed report");
+            tasks.add(new Deadline("late report", "2026-03-04"));
+        }
+
+        assertEquals(objects.getTasks().toString(), columns.getTasks().toString());
+        assertEquals(objects.findOnDate(LocalDate.parse("2026-03-04")).toString(),
+                columns.findOnDate(LocalDate.parse("2026-03-04")).toString());
+        for (String keyword : List.of("REPORT", "[x] c", "mar 4", "\u65e5")) {
+            assertEquals(objects.findByKeyword(keyword).toString(), columns.findByKeyword(keyword).toString());
+        }
+        List<Task> fromObjects = new ArrayList<>();
+        List<Task> fromColumns = new ArrayList<>();
+        objects.forEachBetween(LocalDate.parse("2026-03-03"), LocalDate.parse("2026-03-06"), fromObjects::add);
+        columns.forEachBetween(LocalDate.parse("2026-03-03"), LocalDate.parse("2026-03-06"), fromColumns::add);
+        assertEquals(fromObjects.toString(), fromColumns.toString());
+        long id = objects.get(150).getId();
+        assertEquals(150, columns.indexOf(id));
+        assertEquals(objects.findById(id).toString(), columns.findById(id).toString());
+    }
+
+    @Test
+    public void mapped_changesThenReopen_keepsTasksAndIds() throws IOException {
+        Path file = directory.resolve("tasks.map");
+        TaskList objects = new TaskList();
+        TaskList mapped = TaskList.mapped(file);
+        for (TaskList tasks : List.of(objects, mapped)) {
+            for (int i = 0; i < 1500; i++) {
+                tasks.add(i % 2 == 0 ? new ToDo("chore " + i)
+                        : new Deadline("report " + i, "2026-03-0" + (1 + i % 9)));
+            }
+            tasks.deleteAll(new int[] {0, 700, 701, 1499});
+            tasks.update(10, "\u65e5\u672c report");
+            tasks.beginTransaction();
+            tasks.delete(20);
+            tasks.rollbackTransaction();
+            tasks.mark(30, true);
+        }
+        mapped.force();
+
+        TaskList reopened = TaskList.mapped(file);
+
+        assertEquals(objects.getTasks().toString(), reopened.getTasks().toString());
+        assertEquals(objects.get(1495).getId(), reopened.get(1495).getId());
+        assertEquals(objects.findByKeyword("\u65e5").toString(), reopened.findByKeyword("\u65e5").toString());
+        assertEquals(objects.findOnDate(LocalDate.parse("2026-03-04")).toString(),
+                reopened.findOnDate(LocalDate.parse("2026-03-04")).toString());
+    }
+
+    @Test
+    public void getTasksAfter_tasksChangedBetweenChunks_seesEveryRemainingTaskOnce() throws IOException {
+        TaskList mapped = TaskList.mapped(directory.resolve("tasks.map"));
+        for (int i = 0; i < 10; i++) {
+            mapped.add(new ToDo("chore " + i));
+        }
+
+        List<Task> seen = new ArrayList<>(mapped.getTasksAfter(0, 4));
+        mapped.deleteAll(new int[] {0, 5});
+        mapped.add(new ToDo("chore 10"));
+        for (List<Task> chunk = mapped.getTasksAfter(4, 4); !chunk.isEmpty();
+                chunk = mapped.getTasksAfter(chunk.get(chunk.size() - 1).getId(), 4)) {
+            seen.addAll(chunk);
+        }
+        List<Task> page = new ArrayList<>();
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 7L, 8L, 9L, 10L, 11L),
+                seen.stream().map(Task::getId).collect(Collectors.toList()));
+        assertEquals(9, mapped.copyRange(7, 12, page));
+        assertEquals("[[T][ ] chore 9, [T][ ] chore 10]", page.toString());
+    }
+}
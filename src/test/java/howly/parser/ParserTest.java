@@ -27,4 +27,31 @@ public class ParserTest {
         assertEquals("Submit project", result[0]);
         assertEquals("2026-02-20", result[1]);
     }
+
+    @Test
+    public void parseDeadline_descriptionContainsCommandWord_keepsWord() throws HowlyException {
+        String[] result = Parser.parseDeadline("submit deadline extension form /by 2026-02-20");
+        assertEquals("submit deadline extension form", result[0]);
+        assertEquals("2026-02-20", result[1]);
+    }
+
+    @Test
+    public void parse_listWithUnknownArgument_throwsHowlyException() {
+        try {
+            Parser.parse("list /sort date");
+            fail("Should have thrown a HowlyException for an unknown list argument");
+        } catch (HowlyException e) {
+            assertEquals("The 'list' command only accepts /page and /size. Eg: list /page 2 /size 50", e.getMessage());
+        }
+    }
+
+    @Test
+    public void parse_deleteWithOnlyCommas_throwsHowlyException() {
+        try {
+            Parser.parse("delete ,");
+            fail("Should have thrown a HowlyException for an empty selection");
+        } catch (HowlyException e) {
+            assertEquals("No tasks were selected. Please provide valid indices. Eg: delete 3,7,9", e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,45 @@
+package howly.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import howly.common.HowlyException;
+import howly.tasks.Task;
+
+public class DatasetGeneratorTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void write_eitherFormat_loadsBackSameTasks() throws IOException, HowlyException {
+        DatasetGenerator generator = new DatasetGenerator(7).setTypeMix(2, 1, 1).setDoneRatio(0.5);
+        List<String> expected = fileFormats(generator.generate(500));
+
+        for (StorageFormat format : StorageFormat.values()) {
+            File file = directory.resolve("howly-" + format + ".txt").toFile();
+            generator.write(file, 500, format);
+            ArrayList<Task> loaded = new Storage(file.getPath(), false, format).load();
+            assertEquals(expected, fileFormats(loaded));
+        }
+    }
+
+    @Test
+    public void task_sameSeedAndIndex_createsSameTask() {
+        Task first = new DatasetGenerator(7).task(123);
+        Task second = new DatasetGenerator(7).generate(124).get(123);
+        assertEquals(first.toFileFormat(), second.toFileFormat());
+    }
+
+    private static List<String> fileFormats(List<Task> tasks) {
+        return tasks.stream().map(Task::toFileFormat).toList();
+    }
+}
@@ -0,0 +1,141 @@
+package howly.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import howly.common.HowlyException;
+import howly.common.TaskList;
+import howly.tasks.Deadline;
+import howly.tasks.Event;
+import howly.tasks.Task;
+import howly.tasks.ToDo;
+
+public class JournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void load_everyKindOfRecord_replaysToSameList() throws HowlyException {
+        String dataFile = directory.resolve("howly.txt").toString();
+        Storage storage = new Storage(dataFile, true);
+        TaskList tasks = new TaskList(storage.load());
+        Task[] added = {
+            new ToDo("read book"),
+            new Deadline("return book", "2026-03-01"),
+            new Event("trip with friends", "2026-03-05", "2026-03-07"),
+            new ToDo("water plants"),
+            new ToDo("call mum")
+        };
+        for (Task task : added) {
+            tasks.add(task);
+            storage.saveAdd(tasks.getTasks(), task);
+        }
+
+        tasks.mark(1, true);
+        storage.saveMark(tasks.getTasks(), 1, true);
+        tasks.update(0, "read magazine");
+        storage.saveUpdate(tasks.getTasks(), 0, "read magazine");
+        tasks.delete(3);
+        storage.saveDelete(tasks.getTasks(), 3);
+        tasks.markAll(new int[] {0, 2}, true);
+        storage.saveMarkAll(tasks.getTasks(), new int[] {0, 2}, true);
+        tasks.deleteAll(new int[] {1, 3});
+        storage.saveDeleteAll(tasks.getTasks(), new int[] {1, 3});
+        storage.close();
+
+        assertEquals(fileFormats(tasks.getTasks()), fileFormats(new Storage(dataFile, true).load()));
+    }
+
+    @Test
+    public void load_tornTrailingRecord_skipsOnlyThatRecord() throws IOException, HowlyException {
+        String dataFile = directory.resolve("howly.txt").toString();
+        Storage storage = new Storage(dataFile, true);
+        TaskList tasks = new TaskList(storage.load());
+        Task task = new ToDo("read book");
+        tasks.add(task);
+        storage.saveAdd(tasks.getTasks(), task);
+        storage.close();
+        Files.writeString(directory.resolve("howly.txt.0.log"), "ADD | 2 | D | 0 | essay | 2026-0",
+                StandardOpenOption.APPEND);
+
+        Storage reopened = new Storage(dataFile, true);
+        TaskList loaded = new TaskList(reopened.load());
+        assertEquals(List.of("1 | T | 0 | read book"), fileFormats(loaded.getTasks()));
+        loaded.mark(0, true);
+        reopened.saveMark(loaded.getTasks(), 0, true);
+        reopened.close();
+
+        assertEquals(List.of("1 | T | 1 | read book"), fileFormats(new Storage(dataFile, true).load()));
+    }
+
+    @Test
+    public void load_singleIndexRecordsFromOlderVersions_areStillApplied() throws IOException, HowlyException {
+        String dataFile = directory.resolve("howly.txt").toString();
+        Files.writeString(directory.resolve("howly.txt.0.log"), String.join(System.lineSeparator(),
+                "ADD | T | 0 | read book",
+                "ADD | D | 0 | return book | 2026-03-01",
+                "ADD | T | 0 | water plants",
+                "MARK | 1 | 1",
+                "DELETE | 0",
+                "UPDATE | 1 | water cactus",
+                ""));
+
+        assertEquals(List.of("D | 1 | return book | 2026-03-01", "T | 0 | water cactus"),
+                fileFormats(new Storage(dataFile, true).load()));
+    }
+
+    @Test
+    public void load_descriptionsContainingSeparator_keepWholeDescriptions() throws HowlyException {
+        String dataFile = directory.resolve("howly.txt").toString();
+        Storage storage = new Storage(dataFile, true);
+        TaskList tasks = new TaskList(storage.load());
+        for (Task task : List.of(new ToDo("pros | cons"), new Deadline("essay | draft 2", "2026-03-01"),
+                new Event("trip | day 1 | day 2", "2026-03-05", "2026-03-07"))) {
+            tasks.add(task);
+            storage.saveAdd(tasks.getTasks(), task);
+        }
+        storage.close();
+
+        assertEquals(fileFormats(tasks.getTasks()), fileFormats(new Storage(dataFile, true).load()));
+    }
+
+    @Test
+    public void load_damagedBinarySnapshot_replaysOnlyJournalNewerThanIt() throws IOException, HowlyException {
+        Path dataFile = directory.resolve("howly.bin");
+        Path folded = directory.resolve("howly.bin.0.log");
+        Storage storage = new Storage(dataFile.toString(), true, StorageFormat.BINARY);
+        TaskList tasks = new TaskList(storage.load());
+        for (String description : List.of("read book", "water plants", "call mum")) {
+            Task task = new ToDo(description);
+            tasks.add(task);
+            storage.saveAdd(tasks.getTasks(), task);
+        }
+        byte[] foldedRecords = Files.readAllBytes(folded);
+        storage.save(tasks.getTasks());
+        Task task = new ToDo("pay rent");
+        tasks.add(task);
+        storage.saveAdd(tasks.getTasks(), task);
+        storage.close();
+        // A crash before the folded segment was deleted, and a damaged last record in the snapshot
+        Files.write(folded, foldedRecords);
+        byte[] snapshot = Files.readAllBytes(dataFile);
+        Files.write(dataFile, Arrays.copyOf(snapshot, snapshot.length - 2));
+
+        assertEquals(List.of("1 | T | 0 | read book", "2 | T | 0 | water plants", "4 | T | 0 | pay rent"),
+                fileFormats(new Storage(dataFile.toString(), true, StorageFormat.BINARY).load()));
+    }
+
+    private static List<String> fileFormats(List<Task> tasks) {
+        return tasks.stream().map(Task::toFileFormat).toList();
+    }
+}
@@ -0,0 +1,119 @@
+package howly.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import howly.common.HowlyException;
+import howly.common.TaskList;
+import howly.tasks.Task;
+import howly.tasks.ToDo;
+
+public class StorageTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void loadList_highestIdDeletedBeforeClose_neverReusesId() throws HowlyException {
+        for (StorageFormat format : StorageFormat.values()) {
+            for (int mode = 0; mode < 3; mode++) {
+                boolean isJournaled = mode > 0;
+                boolean isCompacted = mode == 2;
+                String dataFile = directory.resolve("howly-" + format + "-" + mode + ".txt").toString();
+                Storage storage = new Storage(dataFile, isJournaled, format);
+                TaskList tasks = storage.loadList();
+                for (String description : new String[] {"a", "b", "c"}) {
+                    add(tasks, storage, description);
+                }
+                tasks.delete(2);
+                storage.saveDelete(tasks.getTasks(), 2);
+                if (isCompacted) {
+                    storage.save(tasks.getTasks());
+                }
+                storage.close();
+
+                Storage reopened = new Storage(dataFile, isJournaled, format);
+                TaskList reloaded = reopened.loadList();
+                Task added = add(reloaded, reopened, "new");
+                reopened.close();
+
+                String label = format + " mode " + mode;
+                assertEquals(4, added.getId(), label);
+                assertNull(reloaded.findById(3), label);
+                assertEquals(5, new Storage(dataFile, isJournaled, format).loadList().getNextId(), label);
+            }
+        }
+    }
+
+    @Test
+    public void forDataFile_convertedToMapped_staysMappedAndKeepsHeader() throws IOException, HowlyException {
+        Path path = directory.resolve("howly.txt");
+        File file = path.toFile();
+        Storage storage = Storage.forDataFile(path.toString());
+        TaskList tasks = storage.loadList();
+        add(tasks, storage, "read book");
+        add(tasks, storage, "water plants");
+        storage.save(tasks.getTasks());
+        storage.close();
+        SnapshotHeader textHeader = Storage.loadSnapshot(file, new ArrayList<>());
+        assertTrue(textHeader.getGeneration() > 0);
+
+        FormatConverter.convert(file, file, StorageFormat.MAPPED);
+        byte[] converted = Files.readAllBytes(path);
+        ArrayList<Task> loaded = new ArrayList<>();
+        SnapshotHeader mappedHeader = Storage.loadSnapshot(file, loaded);
+        assertArrayEquals(converted, Files.readAllBytes(path));
+        assertEquals(textHeader.getGeneration(), mappedHeader.getGeneration());
+        assertEquals(textHeader.getNextId(), mappedHeader.getNextId());
+        assertEquals(List.of("1 | T | 0 | read book", "2 | T | 0 | water plants"),
+                loaded.stream().map(Task::toFileFormat).toList());
+
+        assertEquals(StorageFormat.MAPPED, Storage.formatOf(file));
+        Storage reopened = Storage.forDataFile(path.toString());
+        TaskList mapped = reopened.loadList();
+        assertEquals(3, add(mapped, reopened, "call mum").getId());
+        reopened.close();
+        assertEquals(StorageFormat.MAPPED, Storage.formatOf(file));
+    }
+
+    @Test
+    public void loadSnapshot_damagedBinaryTaskCount_reportsDamageAndKeepsHeader() throws IOException {
+        File file = directory.resolve("howly.bin").toFile();
+        Storage.writeSnapshot(file, List.of(new ToDo("read book")), 3, 5, StorageFormat.BINARY);
+        byte[] snapshot = Files.readAllBytes(file.toPath());
+        // The count follows the magic bytes, the version, the generation and the next id
+        int countAt = 4 + 1 + Long.BYTES + Long.BYTES;
+
+        for (int count : new int[] {Integer.MAX_VALUE, -1}) {
+            ByteBuffer.wrap(snapshot).putInt(countAt, count);
+            Files.write(file.toPath(), snapshot);
+            BinaryTaskCodec codec = new BinaryTaskCodec(file);
+            ArrayList<Task> loaded = new ArrayList<>();
+
+            assertFalse(codec.load(loaded), "count " + count);
+            assertEquals(count < 0 ? 0 : 1, loaded.size(), "count " + count);
+            assertEquals(3, codec.getGeneration(), "count " + count);
+        }
+    }
+
+    private static Task add(TaskList tasks, Storage storage, String description) throws HowlyException {
+        Task task = new ToDo(description);
+        tasks.add(task);
+        storage.saveAdd(tasks.getTasks(), task);
+        return task;
+    }
+}
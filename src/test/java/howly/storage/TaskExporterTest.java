@@ -0,0 +1,124 @@
+package howly.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import howly.common.HowlyException;
+import howly.common.TaskList;
+import howly.tasks.Deadline;
+import howly.tasks.Event;
+import howly.tasks.Task;
+import howly.tasks.ToDo;
+
+public class TaskExporterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void export_csvAndJsonl_writesOneEscapedRecordPerTask() throws IOException, HowlyException {
+        TaskList tasks = sampleTasks();
+        Storage storage = new Storage(directory.resolve("howly.txt").toString());
+
+        ExportStats csv = storage.export(tasks, directory.resolve("out/tasks.csv"), ExportFormat.CSV);
+        storage.export(tasks, directory.resolve("tasks.jsonl"), ExportFormat.JSONL);
+
+        assertEquals(3, csv.getTasks());
+        assertEquals(Files.size(directory.resolve("out/tasks.csv")), csv.getBytes());
+        assertEquals("id,type,done,description,by,from,to\r\n"
+                + "1,todo,false,\"read \"\"Dune\"\", part 1\",,,\r\n"
+                + "2,deadline,true,caf\u00e9 report,2026-03-01,,\r\n"
+                + "3,event,false,trip,,2026-03-05,2026-03-07\r\n",
+                Files.readString(directory.resolve("out/tasks.csv")));
+        assertEquals(List.of(
+                "{\"id\":1,\"type\":\"todo\",\"done\":false,\"description\":\"read \\\"Dune\\\", part 1\"}",
+                "{\"id\":2,\"type\":\"deadline\",\"done\":true,\"description\":\"caf\u00e9 report\","
+                        + "\"by\":\"2026-03-01\"}",
+                "{\"id\":3,\"type\":\"event\",\"done\":false,\"description\":\"trip\","
+                        + "\"from\":\"2026-03-05\",\"to\":\"2026-03-07\"}"),
+                Files.readAllLines(directory.resolve("tasks.jsonl")));
+    }
+
+    @Test
+    public void export_ics_writesTodosAndEventsWithFoldedLines() throws IOException, HowlyException {
+        TaskList tasks = sampleTasks();
+        tasks.add(new ToDo("\u65e5\u672c".repeat(30)));
+        Path file = directory.resolve("tasks.ics");
+
+        new Storage(directory.resolve("howly.txt").toString()).export(tasks, file, ExportFormat.ICS);
+
+        String ics = Files.readString(file);
+        assertTrue(ics.startsWith("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n"));
+        assertTrue(ics.endsWith("END:VTODO\r\nEND:VCALENDAR\r\n"));
+        assertTrue(ics.contains("SUMMARY:read \"Dune\"\\, part 1\r\n"));
+        assertTrue(ics.contains("DUE;VALUE=DATE:20260301\r\nSTATUS:COMPLETED\r\nEND:VTODO"));
+        assertTrue(ics.contains("BEGIN:VEVENT\r\nUID:howly-task-3\r\n"));
+        assertTrue(ics.contains("DTSTART;VALUE=DATE:20260305\r\nDTEND;VALUE=DATE:20260308\r\n"));
+        for (String line : ics.split("\r\n")) {
+            assertTrue(line.getBytes(StandardCharsets.UTF_8).length <= 75, line);
+        }
+        assertTrue(ics.replace("\r\n ", "").contains("SUMMARY:" + "\u65e5\u672c".repeat(30) + "\r\n"));
+    }
+
+    @Test
+    public void export_mappedListLongerThanOneChunk_writesEveryTaskOnceInOrder() throws IOException, HowlyException {
+        TaskList tasks = TaskList.mapped(directory.resolve("tasks.map"));
+        for (int i = 0; i < 3000; i++) {
+            tasks.add(new ToDo("chore " + i));
+        }
+        tasks.deleteAll(new int[] {0, 1023, 2999});
+        Path file = directory.resolve("tasks.jsonl");
+
+        ExportStats stats = new Storage(directory.resolve("howly.txt").toString())
+                .export(tasks, file, ExportFormat.JSONL);
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2997, stats.getTasks());
+        assertEquals(2997, lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            assertTrue(lines.get(i).startsWith("{\"id\":" + tasks.get(i).getId() + ","), lines.get(i));
+        }
+    }
+
+    @Test
+    public void export_overDataFileOrJournal_isRefused() throws IOException, HowlyException {
+        Path dataFile = directory.resolve("howly.txt");
+        Path segment = directory.resolve("howly.txt.0.log");
+        Storage storage = new Storage(dataFile.toString(), true);
+        TaskList tasks = storage.loadList();
+        Task task = new ToDo("read book");
+        tasks.add(task);
+        storage.saveAdd(tasks.getTasks(), task);
+        byte[] records = Files.readAllBytes(segment);
+
+        for (Path target : List.of(dataFile, directory.resolve("out/../howly.txt.0.log"),
+                directory.resolve("howly.txt.7.log"), directory.resolve("howly.txt.tmp"))) {
+            assertThrows(HowlyException.class, () -> storage.export(tasks, target, ExportFormat.CSV));
+        }
+        storage.export(tasks, directory.resolve("howly.txt.csv"), ExportFormat.CSV);
+        storage.close();
+
+        assertTrue(Files.notExists(dataFile));
+        assertArrayEquals(records, Files.readAllBytes(segment));
+    }
+
+    private static TaskList sampleTasks() {
+        TaskList tasks = new TaskList();
+        tasks.add(new ToDo("read \"Dune\", part 1"));
+        tasks.add(new Deadline("caf\u00e9 report", "2026-03-01"));
+        tasks.add(new Event("trip", "2026-03-05", "2026-03-07"));
+        tasks.mark(1, true);
+        return tasks;
+    }
+}
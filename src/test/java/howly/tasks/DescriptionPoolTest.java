@@ -0,0 +1,42 @@
+package howly.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+public class DescriptionPoolTest {
+
+    @Test
+    public void intern_repeatedDescriptions_sharesOneStringAndCountsHits() {
+        DescriptionPool pool = new DescriptionPool(64);
+        String first = pool.intern(new String("pay rent"));
+        byte[] line = "12 | T | 0 | pay rent".getBytes(StandardCharsets.UTF_8);
+
+        assertSame(first, pool.intern(new String("pay rent")));
+        assertSame(first, pool.intern(line, 13, 8, StandardCharsets.UTF_8));
+        assertEquals("caf\u00e9", pool.intern("caf\u00e9".getBytes(StandardCharsets.UTF_8), 0, 5,
+                StandardCharsets.UTF_8));
+        DescriptionPoolStats stats = pool.getStats();
+        assertEquals(4, stats.getLookups());
+        assertEquals(2, stats.getHits());
+        assertEquals(2, stats.getPooled());
+    }
+
+    @Test
+    public void intern_moreDistinctThanCapacity_staysBounded() {
+        DescriptionPool pool = new DescriptionPool(16);
+        // Held so that the weakly pooled last description cannot be collected before it is looked up again
+        String last = null;
+        for (int i = 0; i < 1000; i++) {
+            last = pool.intern("task " + i);
+        }
+
+        assertEquals(16, pool.getStats().getCapacity());
+        assertEquals(0, pool.getStats().getHits());
+        assertSame(last, pool.intern(new String("task 999")));
+        assertEquals(1, pool.getStats().getHits());
+    }
+}